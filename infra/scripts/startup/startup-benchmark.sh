@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Startup-time benchmark for one service: plain fat jar vs extracted jar vs AppCDS,
+# and (with a reachable database) Spring AOT with and without AppCDS.
+#
+# Usage:  infra/scripts/startup/startup-benchmark.sh <service-dir> [runs]
+#         WITH_DB=1 infra/scripts/startup/startup-benchmark.sh order-service 5
+#
+# Each run is timed from JVM launch until the application context has refreshed
+# (-Dspring.context.exit=onRefresh), i.e. everything up to serving traffic.
+# Without WITH_DB the runs skip Flyway, schema validation and JDBC metadata so no
+# MySQL is needed; AOT runs always need MySQL because AOT fixes Flyway on at build time.
+set -euo pipefail
+
+SERVICE_DIR="${1:?usage: $0 <service-dir> [runs]}"
+RUNS="${2:-5}"
+WITH_DB="${WITH_DB:-0}"
+REPO_ROOT="$(cd "$(dirname "${BASH_SOURCE[0]}")/../../.." && pwd)"
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+OFFLINE_ARGS=(
+    --spring.flyway.enabled=false
+    --spring.jpa.hibernate.ddl-auto=none
+    --spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false
+)
+COMMON_ARGS=(--product.service.url="${PRODUCT_SERVICE_URL:-http://localhost}")
+
+echo "-----------------------------------------------------"
+echo "   Startup benchmark: $SERVICE_DIR ($RUNS runs each)"
+echo "   Java: $(java -version 2>&1 | head -1)"
+echo "-----------------------------------------------------"
+
+# 1. BUILD (AOT-processed jar; the AOT code is only used with -Dspring.aot.enabled=true)
+echo ">> Installing service-common"
+mvn -B -q -f "$REPO_ROOT/service-common/pom.xml" -DskipTests install
+echo ">> Building with -Pfast-startup"
+(cd "$SERVICE_DIR" && mvn -B -q -DskipTests -Pfast-startup package)
+FAT_JAR="$(ls "$SERVICE_DIR"/target/*.jar | grep -v original | head -1)"
+cp "$FAT_JAR" "$WORK_DIR/app-fat.jar"
+
+# 2. EXTRACT + TRAIN CDS ARCHIVE (same steps as Dockerfile.fast-startup)
+echo ">> Extracting and training AppCDS archive"
+java -Djarmode=tools -jar "$WORK_DIR/app-fat.jar" extract --destination "$WORK_DIR/app" > /dev/null
+APP_JAR="$WORK_DIR/app/app-fat.jar"
+java -XX:ArchiveClassesAtExit="$WORK_DIR/app.jsa" -Dspring.context.exit=onRefresh \
+    -jar "$APP_JAR" "${OFFLINE_ARGS[@]}" "${COMMON_ARGS[@]}" > "$WORK_DIR/train.log" 2>&1
+
+# 3. MEASURE
+measure() {
+    local label="$1"; shift
+    local total=0 best=0
+    for ((i = 1; i <= RUNS; i++)); do
+        local start end elapsed
+        start=$(date +%s%N)
+        if ! java -Dspring.context.exit=onRefresh "$@" > "$WORK_DIR/run.log" 2>&1; then
+            echo "   $label: run $i failed, see output below"
+            tail -20 "$WORK_DIR/run.log"
+            return
+        fi
+        end=$(date +%s%N)
+        elapsed=$(( (end - start) / 1000000 ))
+        total=$(( total + elapsed ))
+        if (( best == 0 || elapsed < best )); then best=$elapsed; fi
+    done
+    printf "   %-22s avg %6d ms   best %6d ms\n" "$label" $(( total / RUNS )) "$best"
+}
+
+if [[ "$WITH_DB" == "1" ]]; then
+    RUN_ARGS=("${COMMON_ARGS[@]}")
+else
+    RUN_ARGS=("${OFFLINE_ARGS[@]}" "${COMMON_ARGS[@]}")
+fi
+
+echo ">> Time to context refresh"
+measure "fat jar"         -jar "$WORK_DIR/app-fat.jar" "${RUN_ARGS[@]}"
+measure "extracted"       -jar "$APP_JAR" "${RUN_ARGS[@]}"
+measure "extracted + cds" -XX:SharedArchiveFile="$WORK_DIR/app.jsa" -jar "$APP_JAR" "${RUN_ARGS[@]}"
+if [[ "$WITH_DB" == "1" ]]; then
+    measure "aot"             -Dspring.aot.enabled=true -jar "$APP_JAR" "${RUN_ARGS[@]}"
+    measure "aot + cds"       -Dspring.aot.enabled=true -XX:SharedArchiveFile="$WORK_DIR/app.jsa" \
+                              -jar "$APP_JAR" "${RUN_ARGS[@]}"
+else
+    echo "   (aot runs skipped: set WITH_DB=1 with the service's MySQL reachable)"
+fi
@@ -2,12 +2,16 @@ package com.pradyumna.orderservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class OrderServiceApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(OrderServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(OrderServiceApplication.class);
+        // Records startup steps for /actuator/startup and /actuator/startupsteps
+        application.setApplicationStartup(new BufferingApplicationStartup(10_000));
+        application.run(args);
     }
 
 }
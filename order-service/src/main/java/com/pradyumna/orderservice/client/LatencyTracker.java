@@ -0,0 +1,47 @@
+package com.pradyumna.orderservice.client;
+
+import java.util.Arrays;
+
+/**
+ * Percentile of the last windowSize response times, used as the hedge delay. Recomputed every
+ * tenth of a window; until minSamples are in, the initial value is returned.
+ */
+class LatencyTracker {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final long floorMs;
+
+    private int next;
+    private int recorded;
+    private int sinceRecompute;
+    private volatile long currentMs;
+
+    LatencyTracker(int windowSize, double percentile, long initialMs, long floorMs) {
+        this.samples = new long[Math.max(10, windowSize)];
+        this.percentile = Math.min(100, Math.max(1, percentile));
+        this.minSamples = Math.min(20, samples.length);
+        this.floorMs = floorMs;
+        this.currentMs = Math.max(floorMs, initialMs);
+    }
+
+    synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        if (recorded < samples.length) {
+            recorded++;
+        }
+        if (++sinceRecompute >= samples.length / 10 && recorded >= minSamples) {
+            long[] sorted = Arrays.copyOf(samples, recorded);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * recorded) - 1;
+            currentMs = Math.max(floorMs, sorted[Math.max(0, index)]);
+            sinceRecompute = 0;
+        }
+    }
+
+    long currentMs() {
+        return currentMs;
+    }
+}
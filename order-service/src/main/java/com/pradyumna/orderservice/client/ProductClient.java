@@ -1,54 +1,529 @@
 package com.pradyumna.orderservice.client;
 
-import lombok.RequiredArgsConstructor;
+import com.pradyumna.orderservice.config.RequestDeadline;
+import com.pradyumna.orderservice.config.RequestDeadlineFilter;
+import com.pradyumna.orderservice.exception.InsufficientStockException;
+import com.pradyumna.orderservice.exception.ProductServiceUnavailableException;
+import com.pradyumna.orderservice.security.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
+/**
+ * Product lookups go through a bulkhead (bounded concurrent calls) and a circuit breaker.
+ * When product-service fails, is slow past the RestTemplate timeouts, or the circuit is open,
+ * the last known snapshot of the product is served if it is recent enough; otherwise the
+ * lookup fails fast with ProductServiceUnavailableException (503). A 4xx from product-service
+ * is the caller's problem, not an outage, and counts as a success for the breaker.
+ *
+ * Concurrent lookups of the same product are coalesced (single-flight): the first caller
+ * makes the request and the others wait for its result instead of sending their own.
+ * Only callers arriving while that request is outstanding share it; nothing is cached here
+ * beyond the fallback snapshots.
+ *
+ * Every lookup is bounded by the incoming request's deadline (RequestDeadlineFilter), or by
+ * product.client.deadline-ms off the request thread. With hedging on, a lookup still running
+ * after the recent p95 response time gets a second attempt; the first success wins and the
+ * other attempt is cancelled (interrupting it aborts the JDK HttpClient exchange).
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class ProductClient {
 
     private final RestTemplate restTemplate;
+    private final JwtUtil jwtUtil;
+    private final String productServiceUrl;
 
-    @Value("${product.service.url}")
-    private String productServiceUrl;
+    private final Semaphore bulkhead;
+    private final long bulkheadMaxWaitMs;
+    private final CircuitBreaker circuitBreaker;
+    private final boolean fallbackEnabled;
+    private final ProductSnapshotCache snapshots;
+
+    private final boolean coalescingEnabled;
+    private final Map<UUID, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final long defaultDeadlineMs;
+    private final boolean hedgingEnabled;
+    private final LatencyTracker latencies;
+    private final ExecutorService attempts;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> lookupCounters = new HashMap<>();
+    private final Map<String, Counter> hedgeCounters = new HashMap<>();
+
+    public ProductClient(
+            RestTemplate restTemplate,
+            JwtUtil jwtUtil,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${product.service.url}") String productServiceUrl,
+            @Value("${product.client.bulkhead.max-concurrent:20}") int bulkheadMaxConcurrent,
+            @Value("${product.client.bulkhead.max-wait-ms:100}") long bulkheadMaxWaitMs,
+            @Value("${product.client.circuit.window-size:20}") int windowSize,
+            @Value("${product.client.circuit.minimum-calls:10}") int minimumCalls,
+            @Value("${product.client.circuit.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${product.client.circuit.open-duration-ms:10000}") long openDurationMs,
+            @Value("${product.client.circuit.half-open-calls:3}") int halfOpenCalls,
+            @Value("${product.client.fallback.enabled:true}") boolean fallbackEnabled,
+            @Value("${product.client.fallback.max-age-seconds:300}") long fallbackMaxAgeSeconds,
+            @Value("${product.client.fallback.max-entries:10000}") int fallbackMaxEntries,
+            @Value("${product.client.coalescing.enabled:true}") boolean coalescingEnabled,
+            @Value("${product.client.deadline-ms:5000}") long defaultDeadlineMs,
+            @Value("${product.client.hedge.enabled:false}") boolean hedgingEnabled,
+            @Value("${product.client.hedge.percentile:95}") double hedgePercentile,
+            @Value("${product.client.hedge.initial-delay-ms:200}") long hedgeInitialDelayMs,
+            @Value("${product.client.hedge.min-delay-ms:10}") long hedgeMinDelayMs,
+            @Value("${product.client.hedge.sample-window:200}") int hedgeSampleWindow
+    ) {
+        this.restTemplate = restTemplate;
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        this.productServiceUrl = productServiceUrl;
+        this.bulkhead = new Semaphore(Math.max(1, bulkheadMaxConcurrent));
+        this.bulkheadMaxWaitMs = bulkheadMaxWaitMs;
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openDurationMs, halfOpenCalls, this::onStateTransition);
+        this.fallbackEnabled = fallbackEnabled;
+        this.snapshots = new ProductSnapshotCache(fallbackMaxEntries, fallbackMaxAgeSeconds * 1000);
+        this.coalescingEnabled = coalescingEnabled;
+        this.defaultDeadlineMs = defaultDeadlineMs;
+        this.hedgingEnabled = hedgingEnabled;
+        this.latencies = new LatencyTracker(hedgeSampleWindow, hedgePercentile, hedgeInitialDelayMs, hedgeMinDelayMs);
+
+        // Attempts block on HTTP; the bulkhead bounds how many run at once
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("product-lookup-").getVirtualThreadFactory()
+                : r -> {
+                    Thread thread = new Thread(r, "product-lookup-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        this.attempts = Executors.newCachedThreadPool(threadFactory);
+
+        Gauge.builder("product.client.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+        Gauge.builder("product.client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+        Gauge.builder("product.client.fallback.snapshots", snapshots, ProductSnapshotCache::size)
+                .register(meterRegistry);
+        Gauge.builder("product.client.inflight", inFlight, Map::size)
+                .description("Distinct products with a lookup outstanding")
+                .register(meterRegistry);
+        Gauge.builder("product.client.hedge.delay", latencies, LatencyTracker::currentMs)
+                .description("Current hedge delay in ms (recent response time percentile)")
+                .register(meterRegistry);
+        for (String outcome : List.of("success", "client_error", "failure", "circuit_open", "bulkhead_full",
+                "fallback_served", "fallback_missed", "coalesced", "deadline_exceeded")) {
+            lookupCounters.put(outcome, meterRegistry.counter("product.client.lookups", "outcome", outcome));
+        }
+        // hedge rate = hedges{outcome=sent} / lookups{outcome=success|failure|...}
+        for (String outcome : List.of("sent", "won", "skipped")) {
+            hedgeCounters.put(outcome, meterRegistry.counter("product.client.hedges", "outcome", outcome));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        attempts.shutdownNow();
+    }
 
     public Map<String, Object> getProductById(UUID productId) {
-        try {
-            // ✅ 1. Get the current HTTP request from the context
-            ServletRequestAttributes attributes =
-                    (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        // ✅ 1. Get the current HTTP request from the context
+        //    (thread-bound, so only set on the request thread, platform or virtual)
+        HttpServletRequest request = currentRequest();
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        // ✅ 2. If the request exists, extract its Authorization header
+        String authHeader = request != null
+                ? request.getHeader("Authorization")
+                : null;
 
-            // ✅ 2. If the request exists, extract its Authorization header
-            if (attributes != null) {
-                String authHeader = attributes.getRequest().getHeader("Authorization");
-                if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                    headers.set("Authorization", authHeader);
+        return getProductById(productId, authHeader, deadlineOf(request));
+    }
+
+    /**
+     * Variant for callers outside the request thread (e.g. checkout pipeline workers),
+     * which capture the Authorization header up front.
+     */
+    public Map<String, Object> getProductById(UUID productId, String authHeader) {
+        return getProductById(productId, authHeader, RequestDeadline.after(defaultDeadlineMs));
+    }
+
+    public Map<String, Object> getProductById(UUID productId, String authHeader, RequestDeadline deadline) {
+        if (!coalescingEnabled) {
+            return lookup(productId, authHeader, deadline);
+        }
+        InFlight mine = new InFlight(new CompletableFuture<>(), authHeader);
+        InFlight shared = inFlight.putIfAbsent(productId, mine);
+        if (shared != null) {
+            return join(productId, shared, authHeader, deadline);
+        }
+        return lead(productId, mine, deadline);
+    }
+
+    public Map<UUID, Map<String, Object>> getProductsByIds(Collection<UUID> productIds) {
+        HttpServletRequest request = currentRequest();
+        String authHeader = request != null
+                ? request.getHeader("Authorization")
+                : null;
+
+        return getProductsByIds(productIds, authHeader, deadlineOf(request));
+    }
+
+    public Map<UUID, Map<String, Object>> getProductsByIds(Collection<UUID> productIds, String authHeader) {
+        return getProductsByIds(productIds, authHeader, RequestDeadline.after(defaultDeadlineMs));
+    }
+
+    /**
+     * Batched variant: each distinct id is fetched once, joining lookups other callers already
+     * have outstanding. All ids this caller leads are registered before the first request goes
+     * out, so callers arriving during the batch join them too. A failing lookup fails the batch;
+     * leads not started by then are abandoned and their waiters look up on their own.
+     */
+    public Map<UUID, Map<String, Object>> getProductsByIds(Collection<UUID> productIds, String authHeader,
+                                                           RequestDeadline deadline) {
+        Map<UUID, Map<String, Object>> products = new LinkedHashMap<>();
+        if (!coalescingEnabled) {
+            new LinkedHashSet<>(productIds).forEach(id -> products.put(id, lookup(id, authHeader, deadline)));
+            return products;
+        }
+
+        Map<UUID, InFlight> led = new LinkedHashMap<>();
+        Map<UUID, InFlight> joined = new LinkedHashMap<>();
+        for (UUID productId : new LinkedHashSet<>(productIds)) {
+            InFlight mine = new InFlight(new CompletableFuture<>(), authHeader);
+            InFlight shared = inFlight.putIfAbsent(productId, mine);
+            if (shared != null) {
+                joined.put(productId, shared);
+            } else {
+                led.put(productId, mine);
+            }
+        }
+
+        try {
+            led.forEach((productId, mine) -> products.put(productId, lead(productId, mine, deadline)));
+        } finally {
+            led.forEach((productId, mine) -> {
+                if (mine.result().cancel(false)) {
+                    inFlight.remove(productId, mine);
                 }
+            });
+        }
+        joined.forEach((productId, shared) ->
+                products.put(productId, join(productId, shared, authHeader, deadline)));
+        return products;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        ServletRequestAttributes attributes =
+                (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        return attributes != null ? attributes.getRequest() : null;
+    }
+
+    private RequestDeadline deadlineOf(HttpServletRequest request) {
+        return RequestDeadline.of(request).orElseGet(() -> RequestDeadline.after(defaultDeadlineMs));
+    }
+
+    private Map<String, Object> lead(UUID productId, InFlight mine, RequestDeadline deadline) {
+        try {
+            Map<String, Object> product = lookup(productId, mine.authHeader(), deadline);
+            mine.result().complete(product);
+            return product;
+        } catch (RuntimeException ex) {
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(productId, mine);
+        }
+    }
+
+    private Map<String, Object> join(UUID productId, InFlight shared, String authHeader, RequestDeadline deadline) {
+        count("coalesced");
+        try {
+            return shared.result().get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            count("deadline_exceeded");
+            return fallback(productId, "deadline exceeded");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProductServiceUnavailableException("Interrupted while waiting for product " + productId);
+        } catch (CancellationException ex) {
+            return getProductById(productId, authHeader, deadline);
+        } catch (ExecutionException ex) {
+            // A 4xx may be down to the leader's own token (401/403); let other callers try theirs
+            if (ex.getCause() instanceof ResponseStatusException
+                    && !Objects.equals(shared.authHeader(), authHeader)) {
+                return lookup(productId, authHeader, deadline);
             }
+            throw rethrow(ex.getCause());
+        }
+    }
+
+    private Map<String, Object> lookup(UUID productId, String authHeader, RequestDeadline deadline) {
+        if (deadline.isExpired()) {
+            count("deadline_exceeded");
+            return fallback(productId, "deadline exceeded");
+        }
 
-            // ✅ 3. Build and execute the REST call
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-            String url = productServiceUrl + "/" + productId;
+        // Bulkhead first: a rejected caller must not consume a half-open trial call
+        try {
+            long maxWaitMs = Math.min(bulkheadMaxWaitMs, deadline.remainingMillis());
+            if (!bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                count("bulkhead_full");
+                return fallback(productId, "too many concurrent product lookups");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductServiceUnavailableException("Interrupted while waiting for product " + productId);
+        }
 
-            ResponseEntity<Map> response =
-                    restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                count("circuit_open");
+                return fallback(productId, "circuit open");
+            }
+            return fetchGuarded(productId, authHeader, deadline);
+        } finally {
+            bulkhead.release();
+        }
+    }
 
-            return response.getBody();
-        } catch (Exception ex) {
+    private Map<String, Object> fetchGuarded(UUID productId, String authHeader, RequestDeadline deadline) {
+        Map<String, Object> product;
+        try {
+            product = fetchProduct(productId, authHeader, deadline);
+        } catch (HttpClientErrorException ex) {
+            circuitBreaker.onSuccess();
+            count("client_error");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Failed to fetch product with ID: " + productId + " - " + ex.getMessage());
+        } catch (TimeoutException ex) {
+            // The caller ran out of time, which says little about product-service: a client
+            // sending a tiny X-Request-Timeout-Ms must not be able to open the circuit
+            circuitBreaker.onIgnored();
+            count("deadline_exceeded");
+            return fallback(productId, "deadline exceeded");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.onIgnored();
+            throw new ProductServiceUnavailableException("Interrupted while fetching product " + productId);
+        } catch (RuntimeException ex) {
+            circuitBreaker.onFailure();
+            count("failure");
+            return fallback(productId, ex.getMessage());
         }
+        circuitBreaker.onSuccess();
+        count("success");
+        snapshots.put(productId, product);
+        return product;
+    }
+
+    /**
+     * Runs the request on an attempt thread and waits at most until the deadline. With hedging
+     * on (and the circuit closed), a second attempt is sent once the first has taken longer than
+     * the hedge delay, if the bulkhead has a free slot for it.
+     */
+    private Map<String, Object> fetchProduct(UUID productId, String authHeader, RequestDeadline deadline)
+            throws TimeoutException, InterruptedException {
+        Attempt primary = attempt(productId, authHeader, deadline);
+        Attempt hedge = null;
+        try {
+            long hedgeDelayMs = hedgeDelayMs();
+            if (hedgeDelayMs >= 0 && hedgeDelayMs < deadline.remainingMillis()) {
+                try {
+                    return await(primary.result(), hedgeDelayMs);
+                } catch (TimeoutException slow) {
+                    hedge = hedge(productId, authHeader, deadline);
+                }
+            }
+            if (hedge == null) {
+                return await(primary.result(), deadline.remainingMillis());
+            }
+            Map<String, Object> product = await(firstSuccess(primary.result(), hedge.result()),
+                    deadline.remainingMillis());
+            if (!primary.result().isDone() || primary.result().isCompletedExceptionally()) {
+                hedgeCounters.get("won").increment();
+            }
+            return product;
+        } finally {
+            primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+    }
+
+    private long hedgeDelayMs() {
+        if (!hedgingEnabled || circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+            return -1;
+        }
+        return latencies.currentMs();
+    }
+
+    // The hedge holds its own bulkhead slot, so hedges cannot push past max-concurrent
+    private Attempt hedge(UUID productId, String authHeader, RequestDeadline deadline) {
+        if (!bulkhead.tryAcquire()) {
+            hedgeCounters.get("skipped").increment();
+            return null;
+        }
+        hedgeCounters.get("sent").increment();
+        Attempt hedge = attempt(productId, authHeader, deadline);
+        hedge.result().whenComplete((product, ex) -> bulkhead.release());
+        return hedge;
+    }
+
+    private Attempt attempt(UUID productId, String authHeader, RequestDeadline deadline) {
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        Future<?> task = attempts.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                Map<String, Object> product = exchange(productId, authHeader, deadline);
+                if (result.complete(product)) {
+                    latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return new Attempt(result, task);
+    }
+
+    private Map<String, Object> exchange(UUID productId, String authHeader, RequestDeadline deadline) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set(RequestDeadlineFilter.TIMEOUT_HEADER, String.valueOf(Math.max(1, deadline.remainingMillis())));
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            headers.set("Authorization", authHeader);
+        }
+
+        // ✅ 3. Build and execute the REST call
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+        String url = productServiceUrl + "/" + productId;
+
+        ResponseEntity<Map> response =
+                restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+
+        return response.getBody();
+    }
+
+    private static Map<String, Object> await(CompletableFuture<Map<String, Object>> future, long timeoutMs)
+            throws TimeoutException, InterruptedException {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        }
+    }
+
+    // Completes with the first successful result, or with the last failure once both failed
+    private static CompletableFuture<Map<String, Object>> firstSuccess(CompletableFuture<Map<String, Object>> a,
+                                                                       CompletableFuture<Map<String, Object>> b) {
+        CompletableFuture<Map<String, Object>> first = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        BiConsumer<Map<String, Object>, Throwable> settle = (product, ex) -> {
+            if (ex == null) {
+                first.complete(product);
+            } else if (failed.incrementAndGet() == 2) {
+                first.completeExceptionally(ex);
+            }
+        };
+        a.whenComplete(settle);
+        b.whenComplete(settle);
+        return first;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private Map<String, Object> fallback(UUID productId, String reason) {
+        Optional<Map<String, Object>> snapshot = fallbackEnabled ? snapshots.getFresh(productId) : Optional.empty();
+        if (snapshot.isPresent()) {
+            count("fallback_served");
+            log.warn("⚠️ Serving cached product {} ({})", productId, reason);
+            return snapshot.get();
+        }
+        count("fallback_missed");
+        throw new ProductServiceUnavailableException(
+                "Product service unavailable (" + reason + ") for product " + productId);
+    }
+
+    private record InFlight(CompletableFuture<Map<String, Object>> result, String authHeader) {}
+
+    // cancel(true) on the task interrupts a running request; cancelling the result settles
+    // it for waiters even if the task never started
+    private record Attempt(CompletableFuture<Map<String, Object>> result, Future<?> task) {
+        void cancel() {
+            task.cancel(true);
+            result.cancel(false);
+        }
+    }
+
+    private void count(String outcome) {
+        lookupCounters.get(outcome).increment();
+    }
+
+    private void onStateTransition(CircuitBreaker.State from, CircuitBreaker.State to) {
+        meterRegistry.counter("product.client.circuit.transitions", "from", from.name(), "to", to.name())
+                .increment();
+        if (to == CircuitBreaker.State.OPEN) {
+            log.warn("🔌 Product service circuit {} -> {}", from, to);
+        } else {
+            log.info("🔌 Product service circuit {} -> {}", from, to);
+        }
+    }
+
+    // ---------------------------------------------------
+    // Stock moves for the order saga (no user request in scope,
+    // so these authenticate with a service token). The reservation key
+    // makes them idempotent, so a retry never moves stock twice.
+    // ---------------------------------------------------
+    public void reserveStock(UUID productId, int quantity, String reservationKey) {
+        try {
+            postStock(productId, "reserve", quantity, reservationKey);
+        } catch (HttpClientErrorException.Conflict ex) {
+            throw new InsufficientStockException("Insufficient stock for product " + productId);
+        }
+    }
+
+    public void releaseStock(UUID productId, int quantity, String reservationKey) {
+        postStock(productId, "release", quantity, reservationKey);
+    }
+
+    private void postStock(UUID productId, String action, int quantity, String reservationKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken("order-service"));
+        headers.set("Idempotency-Key", reservationKey);
+
+        String url = productServiceUrl + "/" + productId + "/stock/" + action + "?quantity=" + quantity;
+        restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(headers), Void.class);
     }
 }
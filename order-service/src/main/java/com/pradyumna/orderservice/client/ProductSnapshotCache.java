@@ -0,0 +1,49 @@
+package com.pradyumna.orderservice.client;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last successfully fetched payload per product, served when product-service is failing.
+ * Entries older than maxAgeMs are not served; when full, an arbitrary entry makes room.
+ */
+class ProductSnapshotCache {
+
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long maxAgeMs;
+
+    ProductSnapshotCache(int maxEntries, long maxAgeMs) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    // Copied: payloads can hold null values, which Map.copyOf rejects
+    void put(UUID productId, Map<String, Object> product) {
+        if (product == null) {
+            return;
+        }
+        if (snapshots.size() >= maxEntries && !snapshots.containsKey(productId)) {
+            Iterator<UUID> it = snapshots.keySet().iterator();
+            if (it.hasNext()) {
+                snapshots.remove(it.next());
+            }
+        }
+        Map<String, Object> copy = Collections.unmodifiableMap(new HashMap<>(product));
+        snapshots.put(productId, new Snapshot(copy, System.currentTimeMillis()));
+    }
+
+    Optional<Map<String, Object>> getFresh(UUID productId) {
+        Snapshot snapshot = snapshots.get(productId);
+        if (snapshot == null || System.currentTimeMillis() - snapshot.fetchedAt() > maxAgeMs) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.product());
+    }
+
+    int size() {
+        return snapshots.size();
+    }
+
+    private record Snapshot(Map<String, Object> product, long fetchedAt) {}
+}
@@ -0,0 +1,57 @@
+package com.pradyumna.orderservice.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of ProductClient.getProductById for the reactive checkout.
+ * Calls run on the WebClient event loop, so no thread waits on product-service.
+ */
+@Component
+@ConditionalOnProperty(name = "checkout.reactive.enabled", havingValue = "true")
+public class ReactiveProductClient {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> PRODUCT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public ReactiveProductClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${product.service.url}") String productServiceUrl,
+            @Value("${checkout.reactive.product-timeout-ms:3000}") long timeoutMs
+    ) {
+        this.webClient = webClientBuilder.baseUrl(productServiceUrl).build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    public Mono<Map<String, Object>> getProductById(UUID productId, String authHeader) {
+        return webClient.get()
+                .uri("/{id}", productId)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(PRODUCT_TYPE)
+                .timeout(timeout)
+                // Same error contract as the blocking client
+                .onErrorMap(ex -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Failed to fetch product with ID: " + productId + " - " + ex.getMessage()));
+    }
+}
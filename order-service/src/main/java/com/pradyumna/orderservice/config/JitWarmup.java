@@ -0,0 +1,84 @@
+package com.pradyumna.orderservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradyumna.common.model.UuidV7Generator;
+import com.pradyumna.common.warmup.JitWarmupSupport;
+import com.pradyumna.common.warmup.WarmupProperties;
+import com.pradyumna.orderservice.dto.OrderItemRequest;
+import com.pradyumna.orderservice.dto.OrderRequest;
+import com.pradyumna.orderservice.model.Order;
+import com.pradyumna.orderservice.repository.OrderRepository;
+import com.pradyumna.orderservice.security.JwtUtil;
+import com.pradyumna.orderservice.service.OrderService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Warms up the hot request paths (JWT check, pricing, Order JSON, repository reads)
+ * before readiness goes UP; see {@link JitWarmupSupport}.
+ */
+@Component
+public class JitWarmup extends JitWarmupSupport {
+
+    private static final String WARMUP_USER = "warmup";
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+
+    public JitWarmup(
+            WarmupProperties properties,
+            JwtUtil jwtUtil,
+            ObjectMapper objectMapper,
+            OrderService orderService,
+            OrderRepository orderRepository
+    ) {
+        super(properties);
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+    }
+
+    @Override
+    protected void runStages(Stages stages) {
+        String token = jwtUtil.generateToken(WARMUP_USER);
+        OrderRequest request = sampleRequest();
+        Map<String, Object> product = Map.of("price", "19.99", "name", "Warm-up product");
+
+        stages.run("jwt", properties.getJwtIterations(), () -> {
+            String username = jwtUtil.extractUsername(token);
+            jwtUtil.isTokenValid(token, username);
+        });
+        stages.run("pricing", properties.getIterations(),
+                () -> orderService.buildOrder(request, productId -> product));
+        Order order = orderService.buildOrder(request, productId -> product);
+        order.setId(UuidV7Generator.next());
+        stages.run("json", properties.getIterations(), () -> {
+            objectMapper.writeValueAsBytes(order);
+            objectMapper.readValue(objectMapper.writeValueAsBytes(request), OrderRequest.class);
+        });
+        stages.run("db", properties.getDbIterations(), () -> {
+            orderRepository.findById(UuidV7Generator.next());
+            orderRepository.findByUserId(-1L);
+        });
+    }
+
+    private static OrderRequest sampleRequest() {
+        return OrderRequest.builder()
+                .userId(-1L)
+                .items(List.of(item(2), item(1), item(5)))
+                .build();
+    }
+
+    private static OrderItemRequest item(int quantity) {
+        return OrderItemRequest.builder()
+                .productId(UUID.randomUUID())
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -1,10 +1,25 @@
 package com.pradyumna.orderservice.config;
 
+import com.pradyumna.common.rabbit.RabbitQueueProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import java.util.Map;
 
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RabbitQueueProperties.class)
 public class RabbitConfig {
 
     public static final String EXCHANGE = "order.events.exchange";
@@ -12,31 +27,43 @@ public class RabbitConfig {
     public static final String ORDER_CREATED_QUEUE = "order.created.queue";
     public static final String ORDER_STATUS_UPDATED_QUEUE = "order.status.queue";
     public static final String PAYMENT_STATUS_QUEUE = "payment.status.queue";
+    public static final String ORDER_SUMMARY_QUEUE = "order.summary.queue";
 
     public static final String ORDER_CREATED_ROUTING_KEY = "order.created";
     public static final String ORDER_STATUS_ROUTING_KEY = "order.status";
     public static final String PAYMENT_STATUS_ROUTING_KEY = "payment.status";
 
+    // Listener container factories
+    public static final String PAYMENT_STATUS_LISTENER_FACTORY = "paymentStatusListenerFactory";
+    public static final String ORDER_SUMMARY_LISTENER_FACTORY = "orderSummaryListenerFactory";
+
     // Exchange
     @Bean
     public TopicExchange orderExchange() {
         return new TopicExchange(EXCHANGE, true, false);
     }
 
+    private final RabbitQueueProperties queueProperties;
+
     // Queues
     @Bean
     public Queue orderCreatedQueue() {
-        return QueueBuilder.durable(ORDER_CREATED_QUEUE).build();
+        return buildQueue(ORDER_CREATED_QUEUE, queueProperties.forQueue("order-created"));
     }
 
     @Bean
     public Queue orderStatusUpdatedQueue() {
-        return QueueBuilder.durable(ORDER_STATUS_UPDATED_QUEUE).build();
+        return buildQueue(ORDER_STATUS_UPDATED_QUEUE, queueProperties.forQueue("order-status-updated"));
     }
 
     @Bean
     public Queue paymentStatusQueue() {
-        return QueueBuilder.durable(PAYMENT_STATUS_QUEUE).build();
+        return buildQueue(PAYMENT_STATUS_QUEUE, queueProperties.forQueue("payment-status"));
+    }
+
+    @Bean
+    public Queue orderSummaryQueue() {
+        return buildQueue(ORDER_SUMMARY_QUEUE, queueProperties.forQueue("order-summary"));
     }
 
     // Bindings
@@ -61,4 +88,106 @@ public class RabbitConfig {
                 .with(PAYMENT_STATUS_ROUTING_KEY);
     }
 
+    // Read model: one queue for every event that changes a user's order summary
+    @Bean
+    public Binding bindOrderSummaryCreated() {
+        return BindingBuilder.bind(orderSummaryQueue())
+                .to(orderExchange())
+                .with(ORDER_CREATED_ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding bindOrderSummaryStatus() {
+        return BindingBuilder.bind(orderSummaryQueue())
+                .to(orderExchange())
+                .with(ORDER_STATUS_ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding bindOrderSummaryPayment() {
+        return BindingBuilder.bind(orderSummaryQueue())
+                .to(orderExchange())
+                .with(PAYMENT_STATUS_ROUTING_KEY);
+    }
+
+    // Listener containers
+    @Bean(PAYMENT_STATUS_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory paymentStatusListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.payment-status.retry.max-attempts:5}") int maxAttempts,
+            @Value("${rabbitmq.payment-status.retry.initial-interval-ms:500}") long initialIntervalMs,
+            @Value("${rabbitmq.payment-status.retry.max-interval-ms:10000}") long maxIntervalMs) {
+        SimpleRabbitListenerContainerFactory factory =
+                buildListenerFactory(configurer, connectionFactory, queueProperties.forQueue("payment-status"));
+        // Retry in place with backoff, then put the event back on the queue rather than drop it.
+        // Rejections (undecodable events) are neither retried nor requeued.
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .retryPolicy(new SimpleRetryPolicy(maxAttempts,
+                        Map.of(AmqpRejectAndDontRequeueException.class, false), true, true))
+                .backOffOptions(initialIntervalMs, 2.0, maxIntervalMs)
+                .recoverer((message, cause) -> {
+                    if (isRejection(cause)) {
+                        throw new AmqpRejectAndDontRequeueException(cause);
+                    }
+                    throw new ImmediateRequeueAmqpException("Requeued after " + maxAttempts + " attempts", cause);
+                })
+                .build());
+        return factory;
+    }
+
+    @Bean(ORDER_SUMMARY_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory orderSummaryListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        return buildListenerFactory(configurer, connectionFactory, queueProperties.forQueue("order-summary"));
+    }
+
+    private static Queue buildQueue(String name, RabbitQueueProperties.QueueSettings settings) {
+        QueueBuilder builder = QueueBuilder.durable(name);
+
+        switch (settings.getType()) {
+            case QUORUM -> builder.quorum();
+            case LAZY -> builder.lazy();
+            case CLASSIC -> { }
+        }
+        if (settings.getMaxLength() != null) {
+            builder.maxLength(settings.getMaxLength());
+        }
+        if ("drop-head".equals(settings.getOverflow())) {
+            builder.overflow(QueueBuilder.Overflow.dropHead);
+        } else if ("reject-publish".equals(settings.getOverflow())) {
+            builder.overflow(QueueBuilder.Overflow.rejectPublish);
+        }
+        return builder.build();
+    }
+
+    private static boolean isRejection(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof AmqpRejectAndDontRequeueException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SimpleRabbitListenerContainerFactory buildListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            RabbitQueueProperties.QueueSettings settings) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        // Start from spring.rabbitmq.listener.simple.*, then apply per-queue overrides
+        configurer.configure(factory, connectionFactory);
+
+        if (settings.getConcurrency() != null) {
+            factory.setConcurrentConsumers(settings.getConcurrency());
+        }
+        if (settings.getMaxConcurrency() != null) {
+            factory.setMaxConcurrentConsumers(settings.getMaxConcurrency());
+        }
+        if (settings.getPrefetch() != null) {
+            factory.setPrefetchCount(settings.getPrefetch());
+        }
+        return factory;
+    }
 }
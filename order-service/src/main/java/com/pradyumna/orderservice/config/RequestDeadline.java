@@ -0,0 +1,33 @@
+package com.pradyumna.orderservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which the current request should be answered (System.nanoTime based,
+ * so only meaningful inside this JVM). Set on each request by RequestDeadlineFilter.
+ */
+public record RequestDeadline(long deadlineNanos) {
+
+    public static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    public static RequestDeadline after(long millis) {
+        return new RequestDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    public static Optional<RequestDeadline> of(HttpServletRequest request) {
+        return request != null && request.getAttribute(ATTRIBUTE) instanceof RequestDeadline deadline
+                ? Optional.of(deadline)
+                : Optional.empty();
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,57 @@
+package com.pradyumna.orderservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Starts the deadline clock as a request arrives. Callers may pass their own budget in
+ * X-Request-Timeout-Ms (capped at request.deadline.max-ms); otherwise request.deadline.default-ms
+ * applies. Downstream calls (ProductClient) give up once it has passed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final long defaultMs;
+    private final long maxMs;
+
+    public RequestDeadlineFilter(
+            @Value("${request.deadline.default-ms:10000}") long defaultMs,
+            @Value("${request.deadline.max-ms:30000}") long maxMs
+    ) {
+        this.defaultMs = defaultMs;
+        this.maxMs = maxMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(budgetMs(request)));
+        filterChain.doFilter(request, response);
+    }
+
+    private long budgetMs(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null) {
+            return defaultMs;
+        }
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? Math.min(requested, maxMs) : defaultMs;
+        } catch (NumberFormatException e) {
+            return defaultMs;
+        }
+    }
+}
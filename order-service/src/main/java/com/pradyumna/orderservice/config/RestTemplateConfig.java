@@ -1,14 +1,31 @@
 package com.pradyumna.orderservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
+    // Bounded timeouts: a slow product-service must surface as a failure to the
+    // circuit breaker instead of holding order threads until the OS gives up.
+    // JDK HttpClient: interrupting a request aborts the exchange, which hedged lookups rely
+    // on to cancel the losing attempt
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            @Value("${product.client.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${product.client.read-timeout-ms:3000}") long readTimeoutMs
+    ) {
+        return builder
+                .requestFactory(JdkClientHttpRequestFactory.class)
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
     }
 }
@@ -0,0 +1,42 @@
+package com.pradyumna.orderservice.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps 1 in every {@code rate} INFO/DEBUG/TRACE events of the loggers under
+ * {@code loggerPrefix}; WARN and ERROR always pass. Declared in logback-spring.xml.
+ *
+ * Runs before the logging event (and its message) is built, so dropped events cost
+ * only a counter increment.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "";
+    private int rate = 1;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level,
+                              String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks; let those through so guarded calls still sample
+        if (rate <= 1 || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+}
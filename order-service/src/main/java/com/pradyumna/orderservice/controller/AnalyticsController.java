@@ -0,0 +1,36 @@
+package com.pradyumna.orderservice.controller;
+
+import com.pradyumna.orderservice.dto.SalesAnalyticsBucket;
+import com.pradyumna.orderservice.model.RollupGranularity;
+import com.pradyumna.orderservice.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/orders/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+
+    // ---------- SALES ROLLUPS ----------
+    /**
+     * Orders, gross amount, average basket, paid revenue and status changes per
+     * HOUR or DAY bucket. Defaults to the last 7 days. Reads only the rollup table,
+     * which is best-effort (see SalesRollupService) and may undercount after a crash.
+     */
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesAnalyticsBucket>> getSales(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        return ResponseEntity.ok(salesRollupService.getAnalytics(granularity, start, end));
+    }
+}
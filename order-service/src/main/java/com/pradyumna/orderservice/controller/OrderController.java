@@ -1,13 +1,22 @@
 package com.pradyumna.orderservice.controller;
 
+import com.pradyumna.orderservice.dto.CheckoutResponse;
 import com.pradyumna.orderservice.dto.OrderRequest;
+import com.pradyumna.orderservice.model.CheckoutStatus;
 import com.pradyumna.orderservice.model.Order;
 import com.pradyumna.orderservice.model.OrderStatus;
+import com.pradyumna.orderservice.model.OrderStatusChange;
+import com.pradyumna.orderservice.model.UserOrderSummary;
+import com.pradyumna.orderservice.service.CheckoutPipeline;
 import com.pradyumna.orderservice.service.OrderService;
+import com.pradyumna.orderservice.service.OrderSummaryProjector;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.*;
 
 @RestController
@@ -16,19 +25,49 @@ import java.util.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final CheckoutPipeline checkoutPipeline;
+    private final OrderSummaryProjector orderSummaryProjector;
 
     // ---------- CREATE ORDER ----------
     /**
      * Create a new order.
      * Request payload must include userId and list of items (productId, quantity).
      * The service will fetch product details from ProductService automatically.
+     *
+     * With checkout.async.enabled the order is only validated and stored for the checkout
+     * workers: the response is 202 Accepted with the order id and a status URL to poll.
      */
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody OrderRequest request) {
+    public ResponseEntity<?> createOrder(@RequestBody OrderRequest request) {
+        if (checkoutPipeline.isEnabled()) {
+            UUID orderId = checkoutPipeline.submit(request);
+            URI statusUrl = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .path("/checkout/{id}")
+                    .buildAndExpand(orderId)
+                    .toUri();
+
+            return ResponseEntity.accepted()
+                    .location(statusUrl)
+                    .body(CheckoutResponse.builder()
+                            .orderId(orderId)
+                            .status(CheckoutStatus.ACCEPTED)
+                            .statusUrl(statusUrl.toString())
+                            .build());
+        }
+
         Order createdOrder = orderService.createOrder(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
+    // ---------- CHECKOUT STATUS ----------
+    /**
+     * Poll the progress of an asynchronously submitted order.
+     */
+    @GetMapping("/checkout/{orderId}")
+    public ResponseEntity<CheckoutResponse> getCheckoutStatus(@PathVariable UUID orderId) {
+        return ResponseEntity.ok(checkoutPipeline.getStatus(orderId));
+    }
+
     // ---------- GET ALL ORDERS ----------
     /**
      * Retrieve all orders.
@@ -50,15 +89,51 @@ public class OrderController {
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 
+    // ---------- PAID ORDER IDS (payment reconciliation) ----------
+    /**
+     * Keyset-paged ids of orders whose payment is SUCCESS, for payments-service to diff
+     * against its own SUCCESS payments. Omit afterId for the first page.
+     * Service tokens only (see SecurityConfig).
+     */
+    @GetMapping("/paid-ids")
+    public ResponseEntity<List<UUID>> getPaidOrderIds(
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(orderService.getPaidOrderIds(afterId, limit));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Order>> getOrdersByUserId(@PathVariable Long userId) {
         List<Order> orders = orderService.getOrdersByUserId(userId);
         return ResponseEntity.ok(orders);
     }
 
+    // ---------- USER ORDER SUMMARY ----------
+    /**
+     * Paginated, newest-first order summaries for a user's dashboard, with payment
+     * status included. Served from the event-fed read model, so it can briefly lag writes.
+     */
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<Page<UserOrderSummary>> getUserOrderSummary(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderSummaryProjector.getUserOrders(userId, page, size));
+    }
+
+    // ---------- ORDER TIMELINE ----------
+    /**
+     * Status history of an order, oldest first.
+     */
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<List<OrderStatusChange>> getOrderTimeline(@PathVariable UUID id) {
+        return ResponseEntity.ok(orderService.getOrderTimeline(id));
+    }
+
     // ---------- UPDATE ORDER STATUS ----------
     /**
      * Update the status of an existing order (e.g., PENDING → CONFIRMED → DELIVERED).
+     * Only transitions declared in OrderStatus are accepted.
      */
     @PutMapping("/{id}/status")
     public ResponseEntity<Void> updateOrderStatus(
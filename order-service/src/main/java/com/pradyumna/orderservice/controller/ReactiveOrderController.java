@@ -0,0 +1,34 @@
+package com.pradyumna.orderservice.controller;
+
+import com.pradyumna.orderservice.dto.OrderRequest;
+import com.pradyumna.orderservice.model.Order;
+import com.pradyumna.orderservice.service.ReactiveCheckoutService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/orders/reactive")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "checkout.reactive.enabled", havingValue = "true")
+public class ReactiveOrderController {
+
+    private final ReactiveCheckoutService reactiveCheckoutService;
+
+    // ---------- CREATE ORDER (REACTIVE) ----------
+    /**
+     * Same contract as POST /api/orders (synchronous mode), but the request thread is
+     * released while products are fetched; the response is written when the Mono completes.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Order>> createOrder(
+            @RequestBody OrderRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        return reactiveCheckoutService.createOrder(request, authHeader)
+                .map(order -> ResponseEntity.status(HttpStatus.CREATED).body(order));
+    }
+}
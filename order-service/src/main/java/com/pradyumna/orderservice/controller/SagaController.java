@@ -0,0 +1,35 @@
+package com.pradyumna.orderservice.controller;
+
+import com.pradyumna.orderservice.model.OrderSaga;
+import com.pradyumna.orderservice.service.OrderSagaOrchestrator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/orders/sagas")
+@RequiredArgsConstructor
+public class SagaController {
+
+    private final OrderSagaOrchestrator sagaOrchestrator;
+
+    // ---------- GET SAGA FOR ORDER ----------
+    @GetMapping("/{orderId}")
+    public ResponseEntity<OrderSaga> getSaga(@PathVariable UUID orderId) {
+        return ResponseEntity.ok(sagaOrchestrator.getSaga(orderId));
+    }
+
+    // ---------- STUCK SAGAS ----------
+    /**
+     * Sagas overdue by more than olderThanMinutes, plus those that exhausted their retries.
+     */
+    @GetMapping("/stuck")
+    public ResponseEntity<List<OrderSaga>> getStuckSagas(
+            @RequestParam(defaultValue = "15") long olderThanMinutes) {
+        return ResponseEntity.ok(sagaOrchestrator.findStuck(Duration.ofMinutes(olderThanMinutes)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.pradyumna.orderservice.dto;
+
+import com.pradyumna.orderservice.model.CheckoutStatus;
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckoutResponse {
+    private UUID orderId;
+    private CheckoutStatus status;
+    private String statusUrl;
+    private String message;
+}
@@ -0,0 +1,38 @@
+package com.pradyumna.orderservice.dto;
+
+import com.pradyumna.orderservice.model.Order;
+import com.pradyumna.orderservice.model.OrderStatus;
+import com.pradyumna.orderservice.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Wire format of order.created / order.status events.
+ * Only the fields consumers read are sent; bump SCHEMA_VERSION on breaking changes
+ * (adding a field is not one, consumers ignore unknown fields).
+ */
+public record OrderEvent(
+        UUID id,
+        Long userId,
+        BigDecimal totalAmount,
+        OrderStatus status,
+        PaymentStatus paymentStatus,
+        int itemCount,
+        LocalDateTime createdAt
+) {
+    public static final int SCHEMA_VERSION = 1;
+
+    public static OrderEvent from(Order order) {
+        return new OrderEvent(
+                order.getId(),
+                order.getUserId(),
+                order.getTotalAmount(),
+                order.getStatus(),
+                order.getPaymentStatus(),
+                order.getItems() == null ? 0 : order.getItems().size(),
+                order.getCreatedAt()
+        );
+    }
+}
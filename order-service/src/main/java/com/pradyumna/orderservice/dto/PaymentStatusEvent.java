@@ -0,0 +1,20 @@
+package com.pradyumna.orderservice.dto;
+
+import com.pradyumna.orderservice.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Wire format of payment.status events published by payments-service.
+ */
+public record PaymentStatusEvent(
+        UUID id,
+        UUID orderId,
+        Long userId,
+        BigDecimal amount,
+        PaymentStatus status,
+        String paymentReferenceId
+) {
+    public static final int SCHEMA_VERSION = 1;
+}
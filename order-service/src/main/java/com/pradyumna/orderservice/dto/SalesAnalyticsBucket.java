@@ -0,0 +1,23 @@
+package com.pradyumna.orderservice.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesAnalyticsBucket {
+    private LocalDateTime bucketStart;
+    private long orders;
+    private BigDecimal grossAmount;
+    private BigDecimal averageBasket;
+    private long paidOrders;
+    private BigDecimal revenue;
+    // Orders that moved into each status during the bucket
+    private Map<String, Long> statusChanges;
+}
@@ -54,6 +54,16 @@ public class GlobalExceptionHandler {
         return buildResponse(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(CheckoutQueueFullException.class)
+    public ResponseEntity<Object> handleCheckoutQueueFull(CheckoutQueueFullException ex) {
+        return buildResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ProductServiceUnavailableException.class)
+    public ResponseEntity<Object> handleProductServiceUnavailable(ProductServiceUnavailableException ex) {
+        return buildResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // ---------- Validation & Generic Exceptions ----------
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -0,0 +1,7 @@
+package com.pradyumna.orderservice.exception;
+
+public class ProductServiceUnavailableException extends RuntimeException {
+    public ProductServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,77 @@
+package com.pradyumna.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An order accepted by the async checkout pipeline. The row is committed before the
+ * 202 goes out, so accepted orders survive a crash or redeploy, and any replica can
+ * report its status.
+ */
+@Entity
+@Table(name = "checkouts", indexes = {
+        @Index(name = "idx_checkouts_status_next_attempt", columnList = "status, nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Checkout {
+
+    // Id the order is persisted under once the checkout completes
+    @Id
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CheckoutStatus status;
+
+    // The OrderRequest as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String requestBody;
+
+    @Column(length = 1000)
+    private String message;
+
+    // When a worker may claim it: now for new checkouts, the lease end while PROCESSING,
+    // the backoff end after a transient failure
+    private LocalDateTime nextAttemptAt;
+
+    // Transient failures so far (CheckoutPipeline gives up at checkout.async.max-attempts)
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Also tells save() that a new checkout is new, so accepting one is a plain INSERT
+    @Version
+    private Long version;
+
+    public static Checkout accept(UUID orderId, String requestBody) {
+        return Checkout.builder()
+                .orderId(orderId)
+                .status(CheckoutStatus.ACCEPTED)
+                .requestBody(requestBody)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
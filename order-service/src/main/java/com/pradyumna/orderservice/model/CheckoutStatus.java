@@ -0,0 +1,8 @@
+package com.pradyumna.orderservice.model;
+
+public enum CheckoutStatus {
+    ACCEPTED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
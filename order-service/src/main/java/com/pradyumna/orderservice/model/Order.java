@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_id", columnList = "userId"),
+        @Index(name = "idx_orders_payment_status_id", columnList = "paymentStatus, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,8 +18,9 @@ import java.util.*;
 @Builder
 public class Order {
 
+    // Pre-assigned by the async checkout pipeline, generated otherwise
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @AssignableUuid
     private UUID id;
 
     // The ID of the user placing the order (retrieved from User Service)
@@ -1,5 +1,6 @@
 package com.pradyumna.orderservice.model;
 
+import com.pradyumna.common.model.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
@@ -15,7 +16,7 @@ import java.util.UUID;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     private UUID productId;           // from Product microservice
@@ -0,0 +1,73 @@
+package com.pradyumna.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Persistent state of one order's order → stock → payment saga.
+ */
+@Entity
+@Table(name = "order_sagas", indexes = {
+        @Index(name = "idx_order_sagas_state_next_attempt", columnList = "state, nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSaga {
+
+    // One saga per order
+    @Id
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SagaState state;
+
+    // Number of order items (in item order) whose stock is currently reserved;
+    // lets reservation and release resume where a failed attempt stopped
+    private int reservedItems;
+
+    // Payment may succeed before stock reservation has finished
+    private boolean paid;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // When the processor should next look at this saga (retry backoff or payment deadline)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public static OrderSaga start(UUID orderId) {
+        return OrderSaga.builder()
+                .orderId(orderId)
+                .state(SagaState.STARTED)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
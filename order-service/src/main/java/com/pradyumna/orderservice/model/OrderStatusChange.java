@@ -0,0 +1,47 @@
+package com.pradyumna.orderservice.model;
+
+import com.pradyumna.common.model.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only history of order status changes (the order timeline).
+ */
+@Entity
+@Table(name = "order_status_events", indexes = {
+        @Index(name = "idx_order_status_events_order_changed", columnList = "orderId, changedAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusChange {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(nullable = false, updatable = false)
+    private UUID orderId;
+
+    // Null for the initial PENDING entry written at creation
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private OrderStatus toStatus;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        changedAt = LocalDateTime.now();
+    }
+}
@@ -3,5 +3,10 @@ package com.pradyumna.orderservice.model;
 public enum PaymentStatus {
     PENDING,
     SUCCESS,
-    FAILED
+    FAILED,
+    // Never paid; expired by payments-service (compensated like FAILED)
+    EXPIRED,
+    // Paid, but the order is cancelled; the payment must be refunded. Not counted as paid,
+    // so payments reconciliation keeps reporting it until then.
+    REFUND_REQUIRED
 }
@@ -0,0 +1,14 @@
+package com.pradyumna.orderservice.model;
+
+public enum SagaState {
+    STARTED,            // reserving stock
+    AWAITING_PAYMENT,   // stock held until payment or deadline
+    COMPENSATING,       // releasing stock and cancelling the order
+    COMPLETED,
+    CANCELLED,
+    FAILED;             // retries exhausted while compensating; needs a human
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
@@ -0,0 +1,35 @@
+package com.pradyumna.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated sales counters per time bucket and dimension.
+ * Rows are only ever incremented by SalesRollupService's flush; the primary key
+ * (granularity, bucketStart, dimension) doubles as the index for range reads.
+ */
+@Entity
+@Table(name = "sales_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollup {
+
+    public static final String CREATED = "CREATED";
+    public static final String PAID = "PAID";
+
+    @EmbeddedId
+    private SalesRollupId id;
+
+    @Column(nullable = false)
+    private long eventCount;
+
+    // Minor units (cents) so flushes are exact integer additions
+    @Column(nullable = false)
+    private long amountCents;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.pradyumna.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SalesRollupId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private RollupGranularity granularity;
+
+    private LocalDateTime bucketStart;
+
+    // CREATED, PAID, or the OrderStatus an order moved into
+    @Column(length = 16)
+    private String dimension;
+}
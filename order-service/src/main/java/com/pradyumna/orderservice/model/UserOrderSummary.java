@@ -0,0 +1,58 @@
+package com.pradyumna.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat, denormalized row per order for the user dashboard (CQRS read model).
+ * Written only by OrderSummaryProjector from order and payment events; never joined.
+ */
+@Entity
+@Table(name = "user_order_summary", indexes = {
+        @Index(name = "idx_user_order_summary_user_placed", columnList = "userId, placedAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserOrderSummary {
+
+    @Id
+    private UUID orderId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private BigDecimal totalAmount;
+
+    private Integer itemCount;
+
+    // Null until the order event arrives if the payment event came first
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    private String paymentReferenceId;
+
+    @Column(nullable = false)
+    private LocalDateTime placedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = LocalDateTime.now();
+        if (placedAt == null) {
+            placedAt = updatedAt;
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.pradyumna.orderservice.rabbit;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pradyumna.common.rabbit.ConfirmingEventPublisher;
+import com.pradyumna.common.rabbit.EventCodec;
+import com.pradyumna.orderservice.dto.OrderEvent;
 import com.pradyumna.orderservice.model.Order;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
 import static com.pradyumna.orderservice.config.RabbitConfig.*;
@@ -15,31 +15,24 @@ import static com.pradyumna.orderservice.config.RabbitConfig.*;
 @RequiredArgsConstructor
 public class OrderEventProducer {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final ConfirmingEventPublisher publisher;
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule());
+    private final EventCodec eventCodec;
 
     public void publishOrderCreated(Order order) {
-        send(ORDER_CREATED_ROUTING_KEY, order, "order_created");
+        send(ORDER_CREATED_ROUTING_KEY, OrderEvent.from(order), "order_created");
     }
 
     public void publishOrderStatusUpdated(Order order) {
-        send(ORDER_STATUS_ROUTING_KEY, order, "order_status_updated");
+        send(ORDER_STATUS_ROUTING_KEY, OrderEvent.from(order), "order_status_updated");
     }
 
-    private void send(String routingKey, Object payload, String eventName) {
+    private void send(String routingKey, OrderEvent event, String eventName) {
         try {
-            String json = objectMapper.writeValueAsString(payload);
-
-            rabbitTemplate.convertAndSend(
-                    EXCHANGE,
-                    routingKey,
-                    json
-            );
+            publisher.publish(routingKey, eventCodec.encode(event), eventName, OrderEvent.SCHEMA_VERSION);
 
             log.info("🐇 Sent RabbitMQ event | type={} routingKey={} payload={}",
-                    eventName, routingKey, json);
+                    eventName, routingKey, event);
 
         } catch (Exception ex) {
             log.error("❌ RabbitMQ publish failed | routingKey={} cause={}",
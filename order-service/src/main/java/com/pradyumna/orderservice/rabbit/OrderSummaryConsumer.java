@@ -0,0 +1,41 @@
+package com.pradyumna.orderservice.rabbit;
+
+import com.pradyumna.common.rabbit.EventCodec;
+import com.pradyumna.orderservice.dto.OrderEvent;
+import com.pradyumna.orderservice.dto.PaymentStatusEvent;
+import com.pradyumna.orderservice.service.OrderSummaryProjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import static com.pradyumna.orderservice.config.RabbitConfig.*;
+
+/**
+ * Feeds the user order summary read model. Its queue is bound to order.created,
+ * order.status and payment.status, so it sees every change independently of the
+ * other consumers of those events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryConsumer {
+
+    private final OrderSummaryProjector projector;
+    private final EventCodec eventCodec;
+
+    @RabbitListener(queues = ORDER_SUMMARY_QUEUE, containerFactory = ORDER_SUMMARY_LISTENER_FACTORY)
+    public void consume(Message message) {
+        String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+        try {
+            if (PAYMENT_STATUS_ROUTING_KEY.equals(routingKey)) {
+                projector.onPaymentEvent(eventCodec.decode(message, PaymentStatusEvent.class));
+            } else {
+                projector.onOrderEvent(eventCodec.decode(message, OrderEvent.class));
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to project {} event into order summary", routingKey, e);
+        }
+    }
+}
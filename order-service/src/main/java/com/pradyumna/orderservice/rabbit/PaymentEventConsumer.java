@@ -1,42 +1,49 @@
 package com.pradyumna.orderservice.rabbit;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.pradyumna.orderservice.model.PaymentStatus;
+import com.pradyumna.common.rabbit.EventCodec;
+import com.pradyumna.orderservice.dto.PaymentStatusEvent;
+import com.pradyumna.orderservice.service.OrderSagaOrchestrator;
 import com.pradyumna.orderservice.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
-
+import static com.pradyumna.orderservice.config.RabbitConfig.PAYMENT_STATUS_LISTENER_FACTORY;
 import static com.pradyumna.orderservice.config.RabbitConfig.PAYMENT_STATUS_QUEUE;
 
+/**
+ * Applies payment.status events to the order and its saga. Failures are not swallowed:
+ * the listener factory retries them with backoff and then requeues the message, so a
+ * paid order is never left to the saga's payment timeout. Only undecodable messages,
+ * which can never succeed, are rejected.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentEventConsumer {
 
     private final OrderService orderService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderSagaOrchestrator sagaOrchestrator;
+    private final EventCodec eventCodec;
 
-    @RabbitListener(queues = PAYMENT_STATUS_QUEUE)
-    public void consumePaymentEvent(String message) {
+    @RabbitListener(queues = PAYMENT_STATUS_QUEUE, containerFactory = PAYMENT_STATUS_LISTENER_FACTORY)
+    public void consumePaymentEvent(Message message) {
+        PaymentStatusEvent event;
         try {
-            JsonNode json = objectMapper.readTree(message);
-
-            UUID orderId = UUID.fromString(json.get("orderId").asText());
-            PaymentStatus status = PaymentStatus.valueOf(json.get("status").asText());
-            String referenceId = json.get("paymentReferenceId").asText();
-
-            log.info("🔥 ORDER SERVICE received payment update | orderId={} status={} ref={}",
-                    orderId, status, referenceId);
-
-            orderService.updatePaymentStatus(orderId, status, referenceId);
-
+            event = eventCodec.decode(message, PaymentStatusEvent.class);
         } catch (Exception e) {
-            log.error("❌ Failed to process payment.status event", e);
+            log.error("❌ Dropping undecodable payment.status event", e);
+            throw new AmqpRejectAndDontRequeueException("Undecodable payment.status event", e);
         }
+
+        log.info("🔥 ORDER SERVICE received payment update | orderId={} status={} ref={}",
+                event.orderId(), event.status(), event.paymentReferenceId());
+
+        // Both steps are idempotent, so a redelivered or republished event replays safely
+        orderService.updatePaymentStatus(event.orderId(), event.status(), event.paymentReferenceId());
+        sagaOrchestrator.onPaymentStatus(event.orderId(), event.status());
     }
 }
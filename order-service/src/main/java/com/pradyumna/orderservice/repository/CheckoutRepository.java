@@ -0,0 +1,51 @@
+package com.pradyumna.orderservice.repository;
+
+import com.pradyumna.orderservice.model.Checkout;
+import com.pradyumna.orderservice.model.CheckoutStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CheckoutRepository extends JpaRepository<Checkout, UUID> {
+
+    // New checkouts and ones whose worker lease ran out, locked; rows another worker is
+    // claiming are skipped instead of waited for. Served by idx_checkouts_status_next_attempt.
+    @Query(value = "SELECT * FROM checkouts WHERE status IN ('ACCEPTED', 'PROCESSING') " +
+            "AND next_attempt_at <= :now ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Checkout> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Only PROCESSING rows: a worker whose lease ran out cannot overwrite another's outcome
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Checkout c SET c.status = :status, c.message = :message, c.nextAttemptAt = NULL, " +
+            "c.updatedAt = :now WHERE c.orderId IN :ids AND c.status = :processing")
+    int finish(@Param("ids") Collection<UUID> ids,
+               @Param("status") CheckoutStatus status,
+               @Param("message") String message,
+               @Param("now") LocalDateTime now,
+               @Param("processing") CheckoutStatus processing);
+
+    // Transient failure: back in the queue after a backoff, again only while still PROCESSING
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Checkout c SET c.status = :status, c.message = :message, c.attempts = c.attempts + 1, " +
+            "c.nextAttemptAt = :nextAttemptAt, c.updatedAt = :now WHERE c.orderId = :id AND c.status = :processing")
+    int reschedule(@Param("id") UUID id,
+                   @Param("status") CheckoutStatus status,
+                   @Param("message") String message,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("now") LocalDateTime now,
+                   @Param("processing") CheckoutStatus processing);
+
+    long countByStatus(CheckoutStatus status);
+
+    @Modifying
+    @Query("DELETE FROM Checkout c WHERE c.status IN :statuses AND c.updatedAt < :cutoff")
+    int deleteByStatusInAndUpdatedAtBefore(@Param("statuses") Collection<CheckoutStatus> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff);
+}
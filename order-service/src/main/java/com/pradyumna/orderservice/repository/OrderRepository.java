@@ -1,7 +1,11 @@
 package com.pradyumna.orderservice.repository;
 
 import com.pradyumna.orderservice.model.Order;
+import com.pradyumna.orderservice.model.PaymentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +13,10 @@ import java.util.UUID;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
     List<Order> findByUserId(Long userId);
+
+    // Keyset page over (payment_status, id), served by idx_orders_payment_status_id
+    @Query("SELECT o.id FROM Order o WHERE o.paymentStatus = :status AND o.id > :afterId ORDER BY o.id")
+    List<UUID> findIdsByPaymentStatusAfter(@Param("status") PaymentStatus status,
+                                           @Param("afterId") UUID afterId,
+                                           Limit limit);
 }
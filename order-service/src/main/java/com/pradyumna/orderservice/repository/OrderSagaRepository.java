@@ -0,0 +1,28 @@
+package com.pradyumna.orderservice.repository;
+
+import com.pradyumna.orderservice.model.OrderSaga;
+import com.pradyumna.orderservice.model.SagaState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, UUID> {
+
+    // Due sagas, locked; rows another replica is claiming are skipped instead of waited for.
+    // Served by idx_order_sagas_state_next_attempt.
+    @Query(value = "SELECT * FROM order_sagas WHERE state IN (:states) AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OrderSaga> claimDue(@Param("states") Collection<String> states,
+                             @Param("now") LocalDateTime now,
+                             @Param("limit") int limit);
+
+    List<OrderSaga> findByStateInAndNextAttemptAtBeforeOrderByNextAttemptAt(Collection<SagaState> states,
+                                                                            LocalDateTime cutoff);
+
+    List<OrderSaga> findByStateOrderByUpdatedAt(SagaState state);
+}
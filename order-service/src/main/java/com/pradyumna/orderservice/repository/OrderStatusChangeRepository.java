@@ -0,0 +1,11 @@
+package com.pradyumna.orderservice.repository;
+
+import com.pradyumna.orderservice.model.OrderStatusChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderStatusChangeRepository extends JpaRepository<OrderStatusChange, UUID> {
+    List<OrderStatusChange> findByOrderIdOrderByChangedAtAsc(UUID orderId);
+}
@@ -0,0 +1,34 @@
+package com.pradyumna.orderservice.repository;
+
+import com.pradyumna.orderservice.model.RollupGranularity;
+import com.pradyumna.orderservice.model.SalesRollup;
+import com.pradyumna.orderservice.model.SalesRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollupId> {
+
+    List<SalesRollup> findByIdGranularityAndIdBucketStartBetweenOrderByIdBucketStart(
+            RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    // Additive upsert so several replicas can flush into the same bucket
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_rollups (granularity, bucket_start, dimension, event_count, amount_cents, updated_at)
+            VALUES (:granularity, :bucketStart, :dimension, :count, :amountCents, NOW())
+            ON DUPLICATE KEY UPDATE
+                event_count = event_count + VALUES(event_count),
+                amount_cents = amount_cents + VALUES(amount_cents),
+                updated_at = NOW()
+            """, nativeQuery = true)
+    void addTo(@Param("granularity") String granularity,
+               @Param("bucketStart") LocalDateTime bucketStart,
+               @Param("dimension") String dimension,
+               @Param("count") long count,
+               @Param("amountCents") long amountCents);
+}
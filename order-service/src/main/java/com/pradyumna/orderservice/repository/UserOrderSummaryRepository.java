@@ -0,0 +1,12 @@
+package com.pradyumna.orderservice.repository;
+
+import com.pradyumna.orderservice.model.UserOrderSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, UUID> {
+    Page<UserOrderSummary> findByUserIdOrderByPlacedAtDesc(Long userId, Pageable pageable);
+}
@@ -1,5 +1,6 @@
 package com.pradyumna.orderservice.security;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +13,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -22,6 +25,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -56,7 +60,7 @@ public class SecurityConfig {
                         // Here you can load roles/authorities if needed
                         UsernamePasswordAuthenticationToken auth =
                                 new UsernamePasswordAuthenticationToken(
-                                        username, null, Collections.emptyList());
+                                        username, null, authorities(token));
 
                         SecurityContextHolder.getContext().setAuthentication(auth);
                     }
@@ -67,6 +71,12 @@ public class SecurityConfig {
 
             filterChain.doFilter(request, response);
         }
+
+        private List<GrantedAuthority> authorities(String token) {
+            return jwtUtil.isServiceToken(token)
+                    ? List.of(new SimpleGrantedAuthority("ROLE_SERVICE"))
+                    : Collections.emptyList();
+        }
     }
 
     // ✅ Main Spring Security configuration
@@ -76,6 +86,12 @@ public class SecurityConfig {
                 .securityMatcher("/**")
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Re-dispatch of an async (Mono) response; the request was authorized on entry
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Startup timeline names every bean and POST /actuator/startup drains it
+                        .requestMatchers("/actuator/startup/**", "/actuator/startupsteps/**").hasRole("SERVICE")
+                        // Every paid order id in the system; only payments-service reconciliation reads it
+                        .requestMatchers(HttpMethod.GET, "/api/orders/paid-ids").hasRole("SERVICE")
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
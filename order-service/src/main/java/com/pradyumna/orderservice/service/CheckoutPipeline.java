@@ -0,0 +1,356 @@
+package com.pradyumna.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradyumna.common.model.UuidV7Generator;
+import com.pradyumna.orderservice.client.ProductClient;
+import com.pradyumna.orderservice.dto.CheckoutResponse;
+import com.pradyumna.orderservice.dto.OrderRequest;
+import com.pradyumna.orderservice.exception.CheckoutQueueFullException;
+import com.pradyumna.orderservice.exception.InvalidOrderStateException;
+import com.pradyumna.orderservice.exception.OrderNotFoundException;
+import com.pradyumna.orderservice.exception.ProductServiceUnavailableException;
+import com.pradyumna.orderservice.model.Checkout;
+import com.pradyumna.orderservice.model.CheckoutStatus;
+import com.pradyumna.orderservice.model.Order;
+import com.pradyumna.orderservice.repository.CheckoutRepository;
+import com.pradyumna.orderservice.repository.OrderRepository;
+import com.pradyumna.orderservice.security.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Async checkout: POST /api/orders only validates the order and writes it to the checkouts
+ * table, then a bounded pool of workers completes orders in batches
+ * (resolve products → price → persist → publish).
+ *
+ * The checkouts table is the queue. Workers on every replica claim batches with
+ * SELECT ... FOR UPDATE SKIP LOCKED and hold them for checkout.async.claim-lease-ms; a batch
+ * left behind by a crashed or redeployed pod is claimed again once its lease runs out.
+ * Checkout status is read from the same table, so any replica can answer a status poll.
+ *
+ * Product lookups are shared across the orders of a batch, and each batch is persisted,
+ * published and marked COMPLETED in one transaction. If a batch fails, its orders are
+ * retried one by one so a single bad order does not fail its neighbours. Workers run
+ * without the user's request, so product lookups use a service token.
+ *
+ * Transient failures (product-service unavailable, open circuit, full bulkhead, deadline,
+ * transient database errors) put the checkout back to ACCEPTED with an exponential backoff
+ * on next_attempt_at, up to checkout.async.max-attempts. Only validation errors (unknown
+ * product, missing price) and exhausted retries mark it FAILED.
+ */
+@Slf4j
+@Service
+public class CheckoutPipeline {
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final CheckoutRepository checkoutRepository;
+    private final ProductClient productClient;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final boolean virtualThreads;
+    private final int workers;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final long pollIntervalMs;
+    private final Duration claimLease;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    // Wakes a local worker as soon as a checkout is accepted; polling picks up the rest
+    private final Semaphore accepted = new Semaphore(0);
+
+    private volatile boolean running = true;
+    private ExecutorService executor;
+
+    public CheckoutPipeline(
+            OrderService orderService,
+            OrderRepository orderRepository,
+            CheckoutRepository checkoutRepository,
+            ProductClient productClient,
+            JwtUtil jwtUtil,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            Environment environment,
+            @Value("${checkout.async.enabled:false}") boolean enabled,
+            @Value("${checkout.async.workers:4}") int workers,
+            @Value("${checkout.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${checkout.async.batch-size:20}") int batchSize,
+            @Value("${checkout.async.poll-interval-ms:500}") long pollIntervalMs,
+            @Value("${checkout.async.claim-lease-ms:120000}") long claimLeaseMs,
+            @Value("${checkout.async.retention-ms:600000}") long retentionMs,
+            @Value("${checkout.async.max-attempts:5}") int maxAttempts,
+            @Value("${checkout.async.retry-backoff-ms:1000}") long retryBackoffMs
+    ) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.checkoutRepository = checkoutRepository;
+        this.productClient = productClient;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.pollIntervalMs = Math.max(1, pollIntervalMs);
+        this.claimLease = Duration.ofMillis(claimLeaseMs);
+        this.retention = Duration.ofMillis(retentionMs);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(1, retryBackoffMs);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        // Workers block on product-service and MySQL; with spring.threads.virtual.enabled they
+        // run on virtual threads, and checkout.async.workers only bounds downstream concurrency
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("checkout-worker-").getVirtualThreadFactory()
+                : r -> new Thread(r, "checkout-worker-" + threadIndex.incrementAndGet());
+        executor = Executors.newFixedThreadPool(workers, threadFactory);
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::workerLoop);
+        }
+        log.info("🛒 Async checkout enabled | workers={} virtualThreads={} batchSize={} capacity={}",
+                workers, virtualThreads, batchSize, queueCapacity);
+    }
+
+    // Batches still claimed here are picked up by another replica once their lease runs out
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ---------------------------------------------------
+    // ✅ SUBMIT (request thread)
+    // ---------------------------------------------------
+    public UUID submit(OrderRequest request) {
+        orderService.validateOrderRequest(request);
+
+        // Backlog across all replicas; may lag slightly when read from a replica
+        if (checkoutRepository.countByStatus(CheckoutStatus.ACCEPTED) >= queueCapacity) {
+            throw new CheckoutQueueFullException("Checkout queue is full, please retry shortly");
+        }
+
+        UUID orderId = UuidV7Generator.next();
+        checkoutRepository.save(Checkout.accept(orderId, toJson(request)));
+        accepted.release();
+        return orderId;
+    }
+
+    // ---------------------------------------------------
+    // ✅ STATUS
+    // ---------------------------------------------------
+    // Read-write on purpose: must see checkouts just accepted or completed, not a lagging replica
+    @Transactional
+    public CheckoutResponse getStatus(UUID orderId) {
+        Optional<Checkout> checkout = checkoutRepository.findById(orderId);
+        if (checkout.isPresent()) {
+            return CheckoutResponse.builder()
+                    .orderId(orderId)
+                    .status(checkout.get().getStatus())
+                    .message(checkout.get().getMessage())
+                    .build();
+        }
+        // Finished checkouts are purged after checkout.async.retention-ms; the order remains
+        if (orderRepository.existsById(orderId)) {
+            return CheckoutResponse.builder()
+                    .orderId(orderId)
+                    .status(CheckoutStatus.COMPLETED)
+                    .build();
+        }
+        throw new OrderNotFoundException("Checkout with order ID " + orderId + " not found");
+    }
+
+    @Scheduled(fixedDelayString = "${checkout.async.purge-interval-ms:60000}")
+    public void purgeFinished() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        transactionTemplate.executeWithoutResult(status -> checkoutRepository.deleteByStatusInAndUpdatedAtBefore(
+                List.of(CheckoutStatus.COMPLETED, CheckoutStatus.FAILED), cutoff));
+    }
+
+    // ---------------------------------------------------
+    // Workers
+    // ---------------------------------------------------
+    private void workerLoop() {
+        while (running) {
+            List<Checkout> batch = List.of();
+            try {
+                accepted.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    processBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Left PROCESSING: the batch is claimed again once its lease runs out
+                log.error("❌ Checkout batch crashed | size={}", batch.size(), e);
+            }
+        }
+    }
+
+    private List<Checkout> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Checkout> due = checkoutRepository.claimDue(now, batchSize);
+            LocalDateTime leaseUntil = now.plus(claimLease);
+            due.forEach(checkout -> {
+                checkout.setStatus(CheckoutStatus.PROCESSING);
+                checkout.setNextAttemptAt(leaseUntil);
+            });
+            return due;
+        });
+    }
+
+    private void processBatch(List<Checkout> batch) {
+        String authHeader = "Bearer " + jwtUtil.generateToken("order-service");
+
+        // 1️⃣ Resolve + price: each distinct product is fetched once per batch
+        Map<UUID, Map<String, Object>> products = new HashMap<>();
+        Map<UUID, OrderRequest> requests = new LinkedHashMap<>();
+        Map<UUID, Checkout> checkouts = new HashMap<>();
+        List<Order> priced = new ArrayList<>();
+        for (Checkout checkout : batch) {
+            checkouts.put(checkout.getOrderId(), checkout);
+            try {
+                OrderRequest request = objectMapper.readValue(checkout.getRequestBody(), OrderRequest.class);
+                Order order = orderService.buildOrder(request, productId ->
+                        products.computeIfAbsent(productId, id -> productClient.getProductById(id, authHeader)));
+                order.setId(checkout.getOrderId());
+                requests.put(checkout.getOrderId(), request);
+                priced.add(order);
+            } catch (Exception e) {
+                failOrRetry(checkout, e);
+            }
+        }
+        if (priced.isEmpty()) {
+            return;
+        }
+
+        // 2️⃣ Persist + publish + mark COMPLETED in one transaction
+        try {
+            complete(priced);
+            return;
+        } catch (Exception e) {
+            if (priced.size() == 1) {
+                failOrRetry(checkouts.get(priced.get(0).getId()), e);
+                return;
+            }
+            log.warn("⚠️ Checkout batch of {} failed, retrying individually: {}", priced.size(), e.getMessage());
+        }
+
+        // 3️⃣ Isolate failures; rebuild entities since the rolled-back ones carry generated ids
+        requests.forEach((orderId, request) -> {
+            try {
+                Order order = orderService.buildOrder(request, products::get);
+                order.setId(orderId);
+                complete(List.of(order));
+            } catch (Exception e) {
+                failOrRetry(checkouts.get(orderId), e);
+            }
+        });
+    }
+
+    private void complete(List<Order> orders) {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderService.persistCheckoutBatch(orders);
+            checkoutRepository.finish(orders.stream().map(Order::getId).toList(), CheckoutStatus.COMPLETED,
+                    null, LocalDateTime.now(), CheckoutStatus.PROCESSING);
+        });
+    }
+
+    /**
+     * Reschedules a transient failure with exponential backoff; fails the checkout on a
+     * validation error or once checkout.async.max-attempts is used up.
+     */
+    private void failOrRetry(Checkout checkout, Exception cause) {
+        int attempt = checkout.getAttempts() + 1;
+        if (!isTransient(cause)) {
+            fail(checkout.getOrderId(), cause.getMessage());
+            return;
+        }
+        if (attempt >= maxAttempts) {
+            fail(checkout.getOrderId(), cause.getMessage() + " (gave up after " + attempt + " attempts)");
+            return;
+        }
+        long delay = retryBackoffMs << Math.min(attempt - 1, 10);
+        log.warn("⏳ Checkout {} will be retried in {} ms (attempt {} of {}): {}",
+                checkout.getOrderId(), delay, attempt, maxAttempts, cause.getMessage());
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> checkoutRepository.reschedule(checkout.getOrderId(),
+                CheckoutStatus.ACCEPTED, truncate(cause.getMessage()), now.plusNanos(delay * 1_000_000), now,
+                CheckoutStatus.PROCESSING));
+    }
+
+    // Outages, open circuit, full bulkhead and deadlines all surface as ProductServiceUnavailableException
+    private static boolean isTransient(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof ProductServiceUnavailableException || t instanceof TransientDataAccessException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void fail(UUID orderId, String reason) {
+        log.error("❌ Checkout failed | orderId={} reason={}", orderId, reason);
+        String message = truncate(reason);
+        transactionTemplate.executeWithoutResult(status -> checkoutRepository.finish(List.of(orderId),
+                CheckoutStatus.FAILED, message, LocalDateTime.now(), CheckoutStatus.PROCESSING));
+    }
+
+    private static String truncate(String reason) {
+        return reason != null && reason.length() > MAX_MESSAGE_LENGTH
+                ? reason.substring(0, MAX_MESSAGE_LENGTH)
+                : reason;
+    }
+
+    private String toJson(OrderRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new InvalidOrderStateException("Could not queue order: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.pradyumna.orderservice.service;
+
+import com.pradyumna.orderservice.client.ProductClient;
+import com.pradyumna.orderservice.exception.InsufficientStockException;
+import com.pradyumna.orderservice.exception.OrderNotFoundException;
+import com.pradyumna.orderservice.model.*;
+import com.pradyumna.orderservice.repository.OrderRepository;
+import com.pradyumna.orderservice.repository.OrderSagaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Drives the order → stock → payment saga.
+ *
+ * OrderService writes a STARTED saga row in the order's transaction. A scheduled
+ * processor then claims due sagas in batches and advances them. It reserves stock
+ * item by item, waits for the payment until a deadline, and compensates (release stock,
+ * cancel order) on insufficient stock, payment failure, timeout or exhausted retries.
+ * The payment deadline (saga.payment-timeout-minutes) must outlast payments-service's
+ * payment TTL, so an unpaid order is normally cancelled by the EXPIRED event, after which
+ * /pay is refused; the timeout only covers a lost event.
+ * Payment events move sagas forward through onPaymentStatus.
+ *
+ * Due sagas are claimed with SELECT ... FOR UPDATE SKIP LOCKED, and the claim pushes
+ * nextAttemptAt out by saga.claim-lease-ms, so replicas take disjoint sagas. Progress is
+ * saved after every stock move. The saga's @Version only protects the row; what keeps remote
+ * stock moves from repeating is the Idempotency-Key sent with each one (orderId:orderItemId),
+ * which product-service applies at most once. A saga whose update lost to the payment
+ * listener is left alone until its lease runs out.
+ */
+@Slf4j
+@Service
+public class OrderSagaOrchestrator {
+
+    private static final List<SagaState> ACTIVE_STATES =
+            List.of(SagaState.STARTED, SagaState.AWAITING_PAYMENT, SagaState.COMPENSATING);
+    private static final List<String> ACTIVE_STATE_NAMES = ACTIVE_STATES.stream().map(Enum::name).toList();
+
+    private final OrderSagaRepository sagaRepository;
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final ProductClient productClient;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final Duration paymentTimeout;
+    private final Duration claimLease;
+
+    public OrderSagaOrchestrator(
+            OrderSagaRepository sagaRepository,
+            OrderRepository orderRepository,
+            OrderService orderService,
+            ProductClient productClient,
+            TransactionTemplate transactionTemplate,
+            @Value("${saga.enabled:false}") boolean enabled,
+            @Value("${saga.batch-size:50}") int batchSize,
+            @Value("${saga.max-retries:5}") int maxRetries,
+            @Value("${saga.retry-backoff-ms:2000}") long retryBackoffMs,
+            @Value("${saga.payment-timeout-minutes:45}") long paymentTimeoutMinutes,
+            @Value("${saga.claim-lease-ms:60000}") long claimLeaseMs
+    ) {
+        this.sagaRepository = sagaRepository;
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.productClient = productClient;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.paymentTimeout = Duration.ofMinutes(paymentTimeoutMinutes);
+        this.claimLease = Duration.ofMillis(claimLeaseMs);
+    }
+
+    // ---------------------------------------------------
+    // ✅ BATCH PROCESSOR
+    // ---------------------------------------------------
+    @Scheduled(fixedDelayString = "${saga.poll-interval-ms:1000}")
+    public void processDueSagas() {
+        if (!enabled) {
+            return;
+        }
+        for (OrderSaga saga : claimDue()) {
+            if (saga.getNextAttemptAt().isBefore(LocalDateTime.now())) {
+                // Lease ran out while earlier sagas were processed; another replica may hold it now
+                continue;
+            }
+            try {
+                advance(saga);
+            } catch (OptimisticLockingFailureException e) {
+                // The payment listener moved it first; it is picked up again once the lease runs out
+                log.debug("Saga {} changed concurrently, skipping", saga.getOrderId());
+            } catch (Exception e) {
+                log.error("❌ Saga step crashed | orderId={}", saga.getOrderId(), e);
+            }
+        }
+    }
+
+    private List<OrderSaga> claimDue() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OrderSaga> due = sagaRepository.claimDue(ACTIVE_STATE_NAMES, now, batchSize);
+            LocalDateTime leaseUntil = now.plus(claimLease);
+            due.forEach(saga -> saga.setNextAttemptAt(leaseUntil));
+            return due;
+        });
+    }
+
+    private void advance(OrderSaga saga) {
+        Optional<Order> order = fromPrimary(() -> orderRepository.findById(saga.getOrderId()));
+        if (order.isEmpty()) {
+            saga.setState(SagaState.FAILED);
+            saga.setLastError("Order no longer exists");
+            saga.setNextAttemptAt(null);
+            checkpoint(saga);
+            return;
+        }
+
+        switch (saga.getState()) {
+            case STARTED -> reserveStock(saga, order.get());
+            case AWAITING_PAYMENT -> compensate(saga, order.get(), "Payment not received within " + paymentTimeout);
+            case COMPENSATING -> compensate(saga, order.get(), saga.getLastError());
+            default -> { }
+        }
+    }
+
+    // ---------------------------------------------------
+    // Step 1: reserve stock
+    // ---------------------------------------------------
+    private void reserveStock(OrderSaga saga, Order order) {
+        List<OrderItem> items = sortedItems(order);
+        try {
+            while (saga.getReservedItems() < items.size()) {
+                OrderItem item = items.get(saga.getReservedItems());
+                productClient.reserveStock(item.getProductId(), item.getQuantity(), reservationKey(saga, item));
+                saga.setReservedItems(saga.getReservedItems() + 1);
+                checkpoint(saga);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (InsufficientStockException e) {
+            compensate(saga, order, e.getMessage());
+            return;
+        } catch (Exception e) {
+            if (!scheduleRetry(saga, e)) {
+                compensate(saga, order, "Stock reservation failed: " + e.getMessage());
+                return;
+            }
+            checkpoint(saga);
+            return;
+        }
+
+        saga.setAttempts(0);
+        saga.setLastError(null);
+        if (saga.isPaid()) {
+            complete(saga);
+        } else {
+            saga.setState(SagaState.AWAITING_PAYMENT);
+            saga.setNextAttemptAt(LocalDateTime.now().plus(paymentTimeout));
+        }
+        checkpoint(saga);
+    }
+
+    // ---------------------------------------------------
+    // Compensation: release stock, cancel order
+    // ---------------------------------------------------
+    private void compensate(OrderSaga saga, Order order, String reason) {
+        if (saga.getState() != SagaState.COMPENSATING) {
+            log.warn("↩️ Compensating order {} | reason={}", order.getId(), reason);
+            saga.setState(SagaState.COMPENSATING);
+            saga.setAttempts(0);
+        }
+        saga.setLastError(reason);
+
+        List<OrderItem> items = sortedItems(order);
+        try {
+            // The item being reserved when an attempt stopped may have gone through without
+            // its checkpoint; releasing it too is safe, a key never reserved is only recorded
+            int held = Math.min(items.size(), saga.getReservedItems() + 1);
+            for (int i = held - 1; i >= 0; i--) {
+                OrderItem item = items.get(i);
+                productClient.releaseStock(item.getProductId(), item.getQuantity(), reservationKey(saga, item));
+                saga.setReservedItems(i);
+                checkpoint(saga);
+            }
+            if (order.getStatus() != OrderStatus.CANCELLED) {
+                orderService.updateOrderStatus(order.getId(), OrderStatus.CANCELLED);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            if (!scheduleRetry(saga, e)) {
+                saga.setState(SagaState.FAILED);
+                saga.setNextAttemptAt(null);
+                log.error("🚨 Saga stuck after {} compensation attempts | orderId={}", maxRetries, order.getId());
+            }
+            checkpoint(saga);
+            return;
+        }
+
+        saga.setState(SagaState.CANCELLED);
+        saga.setNextAttemptAt(null);
+        checkpoint(saga);
+    }
+
+    private void complete(OrderSaga saga) {
+        try {
+            orderService.updateOrderStatus(saga.getOrderId(), OrderStatus.CONFIRMED);
+        } catch (Exception e) {
+            // Stock is held and payment succeeded; the order status is only informational here
+            log.warn("⚠️ Could not confirm order {}: {}", saga.getOrderId(), e.getMessage());
+        }
+        saga.setState(SagaState.COMPLETED);
+        saga.setNextAttemptAt(null);
+    }
+
+    /**
+     * Exponential backoff; returns false once retries are exhausted.
+     */
+    private boolean scheduleRetry(OrderSaga saga, Exception cause) {
+        saga.setAttempts(saga.getAttempts() + 1);
+        saga.setLastError(cause.getMessage());
+        if (saga.getAttempts() > maxRetries) {
+            return false;
+        }
+        long delay = retryBackoffMs << Math.min(saga.getAttempts() - 1, 10);
+        saga.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+        return true;
+    }
+
+    /**
+     * save() merges into a copy; carrying its version back lets this instance be saved again.
+     */
+    private void checkpoint(OrderSaga saga) {
+        saga.setVersion(sagaRepository.save(saga).getVersion());
+    }
+
+    private static String reservationKey(OrderSaga saga, OrderItem item) {
+        return saga.getOrderId() + ":" + item.getId();
+    }
+
+    /**
+     * Repository reads outside a transaction run read-only and may be routed to a
+     * lagging replica; saga decisions must see the latest committed state.
+     */
+    private <T> T fromPrimary(Supplier<T> read) {
+        return transactionTemplate.execute(status -> read.get());
+    }
+
+    private static List<OrderItem> sortedItems(Order order) {
+        return order.getItems().stream()
+                .sorted(Comparator.comparing(OrderItem::getId))
+                .toList();
+    }
+
+    // ---------------------------------------------------
+    // ✅ PAYMENT EVENTS
+    // ---------------------------------------------------
+    public void onPaymentStatus(UUID orderId, PaymentStatus status) {
+        if (!enabled || status == PaymentStatus.PENDING) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                applyPaymentStatus(orderId, status);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= 3) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void applyPaymentStatus(UUID orderId, PaymentStatus status) {
+        OrderSaga saga = fromPrimary(() -> sagaRepository.findById(orderId)).orElse(null);
+        if (saga == null || saga.getState().isTerminal() || saga.getState() == SagaState.COMPENSATING) {
+            return;
+        }
+
+        if (status == PaymentStatus.SUCCESS) {
+            saga.setPaid(true);
+            if (saga.getState() == SagaState.AWAITING_PAYMENT) {
+                complete(saga);
+            }
+        } else {
+            // Let the batch processor release stock and cancel on its next round
+            saga.setState(SagaState.COMPENSATING);
+            saga.setAttempts(0);
+            saga.setLastError(status == PaymentStatus.EXPIRED ? "Payment expired" : "Payment failed");
+            saga.setNextAttemptAt(LocalDateTime.now());
+        }
+        sagaRepository.save(saga);
+    }
+
+    // ---------------------------------------------------
+    // ✅ VISIBILITY
+    // ---------------------------------------------------
+    public OrderSaga getSaga(UUID orderId) {
+        return sagaRepository.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("No saga for order " + orderId));
+    }
+
+    /**
+     * Active sagas whose next step is overdue by more than olderThan, plus every FAILED one.
+     */
+    public List<OrderSaga> findStuck(Duration olderThan) {
+        List<OrderSaga> stuck = new ArrayList<>(sagaRepository.findByStateInAndNextAttemptAtBeforeOrderByNextAttemptAt(
+                ACTIVE_STATES, LocalDateTime.now().minus(olderThan)));
+        stuck.addAll(sagaRepository.findByStateOrderByUpdatedAt(SagaState.FAILED));
+        return stuck;
+    }
+}
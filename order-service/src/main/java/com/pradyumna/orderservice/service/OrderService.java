@@ -1,47 +1,100 @@
 package com.pradyumna.orderservice.service;
 
 import com.pradyumna.orderservice.client.ProductClient;
+import com.pradyumna.orderservice.dto.OrderItemRequest;
 import com.pradyumna.orderservice.dto.OrderRequest;
 import com.pradyumna.orderservice.exception.*;
 import com.pradyumna.orderservice.model.*;
 import com.pradyumna.orderservice.repository.OrderRepository;
+import com.pradyumna.orderservice.repository.OrderSagaRepository;
+import com.pradyumna.orderservice.repository.OrderStatusChangeRepository;
 import com.pradyumna.orderservice.rabbit.OrderEventProducer;   // ⬅️ IMPORTANT: new RabbitMQ producer
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int MAX_PAID_IDS_PAGE = 5000;
+
     private final OrderRepository orderRepository;
     private final ProductClient productClient;
     private final OrderEventProducer eventProducer;  // ⬅️ now RabbitMQ producer
+    private final EntityManager entityManager;
+    private final OrderSagaRepository sagaRepository;
+    private final OrderStatusChangeRepository statusChangeRepository;
+    private final SalesRollupService salesRollupService;
+
+    @Value("${saga.enabled:false}")
+    private boolean sagaEnabled;
 
     // ---------------------------------------------------
     // ✅ CREATE ORDER
     // ---------------------------------------------------
     @Transactional
     public Order createOrder(OrderRequest request) {
+        validateOrderRequest(request);
+
+        // Build order items by fetching data from Product Service (each distinct product once)
+        Map<UUID, Map<String, Object>> products = productClient.getProductsByIds(
+                request.getItems().stream().map(OrderItemRequest::getProductId).toList());
+        Order order = buildOrder(request, products::get);
+
+        // Save order
+        Order savedOrder = orderRepository.save(order);
+        recordStatusChange(savedOrder.getId(), null, savedOrder.getStatus());
+        salesRollupService.recordOrderCreated(savedOrder);
+        startSaga(savedOrder);
+
+        // ----------- 🐇 RABBITMQ EVENT EMIT -----------
+        try {
+            eventProducer.publishOrderCreated(savedOrder);
+        } catch (Exception e) {
+            throw new InvalidOrderStateException(
+                    "Failed to publish order_created event via RabbitMQ: " + e.getMessage()
+            );
+        }
+
+        return savedOrder;
+    }
+
+    /**
+     * Cheap checks that need no remote calls; run before an order is accepted.
+     */
+    public void validateOrderRequest(OrderRequest request) {
         if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new InvalidOrderStateException("Order must contain at least one product");
         }
+        for (OrderItemRequest item : request.getItems()) {
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new InvalidOrderStateException("Invalid quantity for product: " + item.getProductId());
+            }
+        }
+    }
 
-        // Build order items by fetching data from Product Service
+    /**
+     * Prices the requested items and builds an unsaved order.
+     * productLookup returns the product-service payload for an id.
+     */
+    public Order buildOrder(OrderRequest request, Function<UUID, Map<String, Object>> productLookup) {
         List<OrderItem> orderItems = request.getItems().stream()
                 .map(itemRequest -> {
                     UUID productId = itemRequest.getProductId();
                     Integer quantity = itemRequest.getQuantity();
 
-                    if (quantity == null || quantity <= 0) {
-                        throw new InvalidOrderStateException("Invalid quantity for product: " + productId);
-                    }
-
-                    Map<String, Object> productData = productClient.getProductById(productId);
+                    Map<String, Object> productData = productLookup.apply(productId);
                     if (productData == null || !productData.containsKey("price")) {
                         throw new InvalidOrderStateException("Product not found or missing price: " + productId);
                     }
@@ -76,24 +129,42 @@ public class OrderService {
         orderItems.forEach(item -> item.setOrder(order));
         order.setItems(orderItems);
 
-        // Save order
-        Order savedOrder = orderRepository.save(order);
+        return order;
+    }
+
+    /**
+     * Persists a batch of checkout-pipeline orders (ids already assigned) in one
+     * transaction and publishes their order_created events.
+     */
+    @Transactional
+    public void persistCheckoutBatch(List<Order> orders) {
+        // persist, not save: save() would merge and SELECT each pre-assigned id first
+        orders.forEach(entityManager::persist);
+        orders.forEach(order -> recordStatusChange(order.getId(), null, order.getStatus()));
+        orders.forEach(salesRollupService::recordOrderCreated);
+        orders.forEach(this::startSaga);
+        entityManager.flush();
 
-        // ----------- 🐇 RABBITMQ EVENT EMIT -----------
         try {
-            eventProducer.publishOrderCreated(savedOrder);
+            orders.forEach(eventProducer::publishOrderCreated);
         } catch (Exception e) {
             throw new InvalidOrderStateException(
                     "Failed to publish order_created event via RabbitMQ: " + e.getMessage()
             );
         }
+    }
 
-        return savedOrder;
+    // Saga row is written in the order's transaction so no order is left without one
+    private void startSaga(Order order) {
+        if (sagaEnabled) {
+            sagaRepository.save(OrderSaga.start(order.getId()));
+        }
     }
 
     // ---------------------------------------------------
     // ✅ GET ALL ORDERS
     // ---------------------------------------------------
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         try {
             List<Order> orders = orderRepository.findAll();
@@ -109,15 +180,28 @@ public class OrderService {
     // ---------------------------------------------------
     // ✅ GET ORDER BY ID
     // ---------------------------------------------------
+    @Transactional(readOnly = true)
     public Optional<Order> getOrderById(UUID id) {
         return Optional.ofNullable(orderRepository.findById(id)
                 .orElseThrow(() -> new OrderNotFoundException("Order with ID " + id + " not found")));
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUserId(Long userId) {
         return orderRepository.findByUserId(userId);
     }
 
+    /**
+     * Ids of paid orders after afterId, in id order (binary order in MySQL), for
+     * payments-service reconciliation. Pass the last id of a page to get the next one.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> getPaidOrderIds(UUID afterId, int limit) {
+        return orderRepository.findIdsByPaymentStatusAfter(PaymentStatus.SUCCESS,
+                afterId != null ? afterId : new UUID(0, 0),
+                Limit.of(Math.min(Math.max(limit, 1), MAX_PAID_IDS_PAGE)));
+    }
+
     // ---------------------------------------------------
     // ✅ UPDATE ORDER STATUS
     // ---------------------------------------------------
@@ -127,15 +211,20 @@ public class OrderService {
                 .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found"));
 
         // Prevent illegal state transitions
-        if (order.getStatus() == OrderStatus.CANCELLED) {
-            throw new InvalidOrderStateException("Cannot update status of a cancelled order");
-        }
-        if (order.getStatus() == OrderStatus.DELIVERED) {
-            throw new InvalidOrderStateException("Order already delivered; cannot change status");
+        OrderStatus current = order.getStatus();
+        if (!current.canTransitionTo(newStatus)) {
+            throw new InvalidOrderStateException(
+                    "Cannot change order status from " + current + " to " + newStatus);
         }
 
         order.setStatus(newStatus);
+        if (newStatus == OrderStatus.CANCELLED && order.getPaymentStatus() == PaymentStatus.SUCCESS) {
+            log.warn("💸 Paid order {} cancelled; flagged for refund", orderId);
+            order.setPaymentStatus(PaymentStatus.REFUND_REQUIRED);
+        }
         orderRepository.save(order);
+        recordStatusChange(orderId, current, newStatus);
+        salesRollupService.recordStatusChange(order);
 
         // ----------- 🐇 RABBITMQ EVENT EMIT -----------
         try {
@@ -147,6 +236,27 @@ public class OrderService {
         }
     }
 
+    // History row shares the caller's transaction, so it exists iff the change committed
+    private void recordStatusChange(UUID orderId, OrderStatus from, OrderStatus to) {
+        statusChangeRepository.save(OrderStatusChange.builder()
+                .orderId(orderId)
+                .fromStatus(from)
+                .toStatus(to)
+                .build());
+    }
+
+    // ---------------------------------------------------
+    // ✅ ORDER TIMELINE
+    // ---------------------------------------------------
+    @Transactional(readOnly = true)
+    public List<OrderStatusChange> getOrderTimeline(UUID orderId) {
+        List<OrderStatusChange> timeline = statusChangeRepository.findByOrderIdOrderByChangedAtAsc(orderId);
+        if (timeline.isEmpty() && !orderRepository.existsById(orderId)) {
+            throw new OrderNotFoundException("Order with ID " + orderId + " not found");
+        }
+        return timeline;
+    }
+
     // ---------------------------------------------------
     // ✅ UPDATE PAYMENT STATUS (for future Payment Service)
     // ---------------------------------------------------
@@ -155,8 +265,22 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found"));
 
+        // Already flagged; only a refund clears it
+        if (order.getPaymentStatus() == PaymentStatus.REFUND_REQUIRED) {
+            return;
+        }
+        // Money taken for an order that was cancelled meanwhile (late /pay, saga timeout)
+        if (paymentStatus == PaymentStatus.SUCCESS && order.getStatus() == OrderStatus.CANCELLED) {
+            log.warn("💸 Payment {} succeeded for cancelled order {}; flagged for refund", referenceId, orderId);
+            order.setPaymentStatus(PaymentStatus.REFUND_REQUIRED);
+            order.setPaymentReferenceId(referenceId);
+            orderRepository.save(order);
+            return;
+        }
+        // Redeliveries and reconciliation republish SUCCESS; the saga still needs to see it
         if (order.getPaymentStatus() == PaymentStatus.SUCCESS && paymentStatus == PaymentStatus.SUCCESS) {
-            throw new PaymentUpdateException("Payment already marked as successful for order " + orderId);
+            log.info("ℹ️ Payment already marked as successful for order {}", orderId);
+            return;
         }
 
         order.setPaymentStatus(paymentStatus);
@@ -167,5 +291,9 @@ public class OrderService {
         } catch (Exception e) {
             throw new PaymentUpdateException("Failed to update payment status: " + e.getMessage());
         }
+        // Duplicate SUCCESS updates return above, so each paid order counts once
+        if (paymentStatus == PaymentStatus.SUCCESS) {
+            salesRollupService.recordPayment(order);
+        }
     }
 }
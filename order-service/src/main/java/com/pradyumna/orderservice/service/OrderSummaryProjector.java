@@ -0,0 +1,76 @@
+package com.pradyumna.orderservice.service;
+
+import com.pradyumna.orderservice.dto.OrderEvent;
+import com.pradyumna.orderservice.dto.PaymentStatusEvent;
+import com.pradyumna.orderservice.model.PaymentStatus;
+import com.pradyumna.orderservice.model.UserOrderSummary;
+import com.pradyumna.orderservice.repository.UserOrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Maintains the user_order_summary read model.
+ *
+ * Events may arrive out of order (payment before order.created, redeliveries), so every
+ * handler upserts and only moves a field forward: order status follows the transitions
+ * declared on OrderStatus and a SUCCESS payment is never overwritten.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryProjector {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserOrderSummaryRepository summaryRepository;
+
+    @Transactional
+    public void onOrderEvent(OrderEvent event) {
+        UserOrderSummary summary = findOrNew(event.id(), event.userId());
+
+        summary.setTotalAmount(event.totalAmount());
+        summary.setItemCount(event.itemCount());
+        if (event.createdAt() != null) {
+            summary.setPlacedAt(event.createdAt());
+        }
+        if (summary.getStatus() == null || summary.getStatus().canTransitionTo(event.status())) {
+            summary.setStatus(event.status());
+        }
+        if (summary.getPaymentStatus() == null) {
+            summary.setPaymentStatus(event.paymentStatus());
+        }
+        summaryRepository.save(summary);
+    }
+
+    @Transactional
+    public void onPaymentEvent(PaymentStatusEvent event) {
+        UserOrderSummary summary = findOrNew(event.orderId(), event.userId());
+
+        if (summary.getPaymentStatus() != PaymentStatus.SUCCESS) {
+            summary.setPaymentStatus(event.status());
+            summary.setPaymentReferenceId(event.paymentReferenceId());
+        }
+        if (summary.getTotalAmount() == null) {
+            summary.setTotalAmount(event.amount());
+        }
+        summaryRepository.save(summary);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserOrderSummary> getUserOrders(Long userId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE));
+        return summaryRepository.findByUserIdOrderByPlacedAtDesc(userId, pageRequest);
+    }
+
+    private UserOrderSummary findOrNew(UUID orderId, Long userId) {
+        return summaryRepository.findById(orderId)
+                .orElseGet(() -> UserOrderSummary.builder()
+                        .orderId(orderId)
+                        .userId(userId)
+                        .build());
+    }
+}
@@ -0,0 +1,83 @@
+package com.pradyumna.orderservice.service;
+
+import com.pradyumna.orderservice.client.ReactiveProductClient;
+import com.pradyumna.orderservice.dto.OrderItemRequest;
+import com.pradyumna.orderservice.dto.OrderRequest;
+import com.pradyumna.orderservice.model.Order;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reactive checkout: the distinct products of an order are fetched concurrently over
+ * WebClient, then the priced order is persisted and its order_created event published.
+ *
+ * JPA and the confirming RabbitMQ publisher are blocking, so that last step runs on a
+ * bounded scheduler sized to the connection pool instead of on the event loop. It reuses
+ * OrderService.persistCheckoutBatch, so history, rollups, saga and event are the same as
+ * on the servlet path.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "checkout.reactive.enabled", havingValue = "true")
+public class ReactiveCheckoutService {
+
+    private final OrderService orderService;
+    private final ReactiveProductClient productClient;
+    private final int productConcurrency;
+    private final Scheduler persistScheduler;
+
+    public ReactiveCheckoutService(
+            OrderService orderService,
+            ReactiveProductClient productClient,
+            @Value("${checkout.reactive.product-concurrency:8}") int productConcurrency,
+            @Value("${checkout.reactive.persist-threads:10}") int persistThreads
+    ) {
+        this.orderService = orderService;
+        this.productClient = productClient;
+        this.productConcurrency = Math.max(1, productConcurrency);
+        this.persistScheduler = Schedulers.newBoundedElastic(
+                Math.max(1, persistThreads), Integer.MAX_VALUE, "checkout-persist");
+        log.info("⚡ Reactive checkout enabled | productConcurrency={} persistThreads={}",
+                this.productConcurrency, persistThreads);
+    }
+
+    @PreDestroy
+    void stop() {
+        persistScheduler.dispose();
+    }
+
+    // ---------------------------------------------------
+    // ✅ CREATE ORDER
+    // ---------------------------------------------------
+    public Mono<Order> createOrder(OrderRequest request, String authHeader) {
+        return Mono.fromRunnable(() -> orderService.validateOrderRequest(request))
+                .then(fetchProducts(request, authHeader))
+                .map(products -> orderService.buildOrder(request, products::get))
+                .publishOn(persistScheduler)
+                .map(order -> {
+                    orderService.persistCheckoutBatch(List.of(order));
+                    return order;
+                });
+    }
+
+    // Each distinct product once; a missing one fails in buildOrder like on the servlet path
+    private Mono<Map<UUID, Map<String, Object>>> fetchProducts(OrderRequest request, String authHeader) {
+        return Flux.fromIterable(request.getItems())
+                .map(OrderItemRequest::getProductId)
+                .distinct()
+                .flatMap(productId -> productClient.getProductById(productId, authHeader)
+                        .map(product -> Map.entry(productId, product)), productConcurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
@@ -0,0 +1,189 @@
+package com.pradyumna.orderservice.service;
+
+import com.pradyumna.orderservice.dto.SalesAnalyticsBucket;
+import com.pradyumna.orderservice.model.*;
+import com.pradyumna.orderservice.repository.SalesRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incremental sales rollups for the admin dashboard.
+ *
+ * Order writes bump striped in-memory counters (LongAdder) per hour and day bucket once
+ * their transaction commits; a scheduled flush adds the accumulated deltas to
+ * sales_rollups. Analytics reads only that table, so no order or payment scans.
+ *
+ * The rollups are best-effort, not an exact ledger. Deltas not yet flushed live only in this
+ * JVM: a crash or kill loses them (a graceful shutdown flushes once), and the table stays
+ * short by that amount. While the database is unreachable the deltas are kept and retried,
+ * so the lag grows past the flush interval. Exact figures come from the orders table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    private final SalesRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SalesRollupId, Delta> pending = new ConcurrentHashMap<>();
+
+    // ---------------------------------------------------
+    // ✅ RECORD (called inside order transactions)
+    // ---------------------------------------------------
+    public void recordOrderCreated(Order order) {
+        record(SalesRollup.CREATED, order.getTotalAmount());
+    }
+
+    public void recordStatusChange(Order order) {
+        record(order.getStatus().name(), order.getTotalAmount());
+    }
+
+    public void recordPayment(Order order) {
+        record(SalesRollup.PAID, order.getTotalAmount());
+    }
+
+    private void record(String dimension, BigDecimal amount) {
+        long cents = toCents(amount);
+        Runnable apply = () -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                SalesRollupId key = new SalesRollupId(granularity, granularity.bucketOf(now), dimension);
+                pending.computeIfAbsent(key, k -> new Delta()).add(1, cents);
+            }
+        };
+
+        // Count only what commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    // ---------------------------------------------------
+    // ✅ FLUSH
+    // ---------------------------------------------------
+    @Scheduled(fixedDelayString = "${analytics.rollups.flush-interval-ms:10000}")
+    public void flush() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<SalesRollupId, long[]> drained = new HashMap<>();
+
+        for (Map.Entry<SalesRollupId, Delta> entry : pending.entrySet()) {
+            SalesRollupId key = entry.getKey();
+            Delta delta = entry.getValue();
+            long count = delta.count.sumThenReset();
+            long cents = delta.cents.sumThenReset();
+
+            // Drop closed buckets; anything added while removing is drained right after
+            if (key.getBucketStart().isBefore(key.getGranularity().bucketOf(now))) {
+                pending.remove(key, delta);
+                count += delta.count.sumThenReset();
+                cents += delta.cents.sumThenReset();
+            }
+            if (count != 0 || cents != 0) {
+                drained.put(key, new long[]{count, cents});
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            // One transaction: either every delta lands or all are put back
+            transactionTemplate.executeWithoutResult(status -> drained.forEach((key, values) -> rollupRepository.addTo(
+                    key.getGranularity().name(), key.getBucketStart(), key.getDimension(), values[0], values[1])));
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            drained.forEach((key, values) -> pending.computeIfAbsent(key, k -> new Delta()).add(values[0], values[1]));
+            log.error("❌ Sales rollup flush failed | buckets={}", drained.size(), e);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("⚠️ Final sales rollup flush failed: {}", e.getMessage());
+        }
+    }
+
+    // ---------------------------------------------------
+    // ✅ ANALYTICS
+    // ---------------------------------------------------
+    @Transactional(readOnly = true)
+    public List<SalesAnalyticsBucket> getAnalytics(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        Map<LocalDateTime, List<SalesRollup>> byBucket = new TreeMap<>();
+        for (SalesRollup rollup : rollupRepository.findByIdGranularityAndIdBucketStartBetweenOrderByIdBucketStart(
+                granularity, granularity.bucketOf(from), to)) {
+            byBucket.computeIfAbsent(rollup.getId().getBucketStart(), k -> new ArrayList<>()).add(rollup);
+        }
+
+        List<SalesAnalyticsBucket> buckets = new ArrayList<>(byBucket.size());
+        byBucket.forEach((bucketStart, rollups) -> {
+            SalesAnalyticsBucket bucket = SalesAnalyticsBucket.builder()
+                    .bucketStart(bucketStart)
+                    .grossAmount(BigDecimal.ZERO)
+                    .revenue(BigDecimal.ZERO)
+                    .statusChanges(new TreeMap<>())
+                    .build();
+
+            for (SalesRollup rollup : rollups) {
+                String dimension = rollup.getId().getDimension();
+                BigDecimal amount = fromCents(rollup.getAmountCents());
+                if (SalesRollup.CREATED.equals(dimension)) {
+                    bucket.setOrders(rollup.getEventCount());
+                    bucket.setGrossAmount(amount);
+                } else if (SalesRollup.PAID.equals(dimension)) {
+                    bucket.setPaidOrders(rollup.getEventCount());
+                    bucket.setRevenue(amount);
+                } else {
+                    bucket.getStatusChanges().put(dimension, rollup.getEventCount());
+                }
+            }
+            bucket.setAverageBasket(bucket.getOrders() == 0 ? BigDecimal.ZERO
+                    : bucket.getGrossAmount().divide(BigDecimal.valueOf(bucket.getOrders()), 2, RoundingMode.HALF_UP));
+            buckets.add(bucket);
+        });
+        return buckets;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static final class Delta {
+        final LongAdder count = new LongAdder();
+        final LongAdder cents = new LongAdder();
+
+        void add(long events, long amountCents) {
+            count.add(events);
+            cents.add(amountCents);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+-- Schema as previously created by ddl-auto=update.
+-- Existing databases are baselined at version 1 and skip this script.
+
+CREATE TABLE orders (
+    id                   BINARY(16)     NOT NULL,
+    user_id              BIGINT         NOT NULL,
+    total_amount         DECIMAL(38, 2) NOT NULL,
+    status               ENUM ('CANCELLED','CONFIRMED','DELIVERED','PENDING') NOT NULL,
+    payment_status       ENUM ('FAILED','PENDING','SUCCESS') NOT NULL,
+    payment_reference_id VARCHAR(255),
+    created_at           DATETIME(6)    NOT NULL,
+    updated_at           DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_items (
+    id           BINARY(16) NOT NULL,
+    order_id     BINARY(16),
+    product_id   BINARY(16),
+    product_name VARCHAR(255),
+    price        DECIMAL(38, 2),
+    quantity     INTEGER,
+    subtotal     DECIMAL(38, 2),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+) ENGINE = InnoDB;
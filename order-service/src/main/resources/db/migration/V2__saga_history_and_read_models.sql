@@ -0,0 +1,51 @@
+-- Tables added after the baseline: order saga state, order status history,
+-- the per-user order summary read model and the sales rollups.
+
+CREATE TABLE order_sagas (
+    order_id        BINARY(16)    NOT NULL,
+    state           ENUM ('AWAITING_PAYMENT','CANCELLED','COMPENSATING','COMPLETED','FAILED','STARTED') NOT NULL,
+    reserved_items  INTEGER       NOT NULL,
+    paid            BIT           NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    last_error      VARCHAR(1000),
+    next_attempt_at DATETIME(6),
+    created_at      DATETIME(6)   NOT NULL,
+    updated_at      DATETIME(6)   NOT NULL,
+    version         BIGINT,
+    PRIMARY KEY (order_id),
+    INDEX idx_order_sagas_state_next_attempt (state, next_attempt_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_status_events (
+    id          BINARY(16)  NOT NULL,
+    order_id    BINARY(16)  NOT NULL,
+    from_status ENUM ('CANCELLED','CONFIRMED','DELIVERED','PENDING'),
+    to_status   ENUM ('CANCELLED','CONFIRMED','DELIVERED','PENDING') NOT NULL,
+    changed_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_order_status_events_order_changed (order_id, changed_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_order_summary (
+    order_id             BINARY(16)  NOT NULL,
+    user_id              BIGINT      NOT NULL,
+    total_amount         DECIMAL(38, 2),
+    item_count           INTEGER,
+    status               ENUM ('CANCELLED','CONFIRMED','DELIVERED','PENDING'),
+    payment_status       ENUM ('FAILED','PENDING','SUCCESS'),
+    payment_reference_id VARCHAR(255),
+    placed_at            DATETIME(6) NOT NULL,
+    updated_at           DATETIME(6) NOT NULL,
+    PRIMARY KEY (order_id),
+    INDEX idx_user_order_summary_user_placed (user_id, placed_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE sales_rollups (
+    granularity  ENUM ('DAY','HOUR') NOT NULL,
+    bucket_start DATETIME(6) NOT NULL,
+    dimension    VARCHAR(16) NOT NULL,
+    event_count  BIGINT      NOT NULL,
+    amount_cents BIGINT      NOT NULL,
+    updated_at   DATETIME(6),
+    PRIMARY KEY (granularity, bucket_start, dimension)
+) ENGINE = InnoDB;
@@ -0,0 +1,2 @@
+-- GET /api/orders/user/{userId} (findByUserId)
+CREATE INDEX idx_orders_user_id ON orders (user_id);
@@ -0,0 +1,2 @@
+-- GET /api/orders/paid-ids (payment reconciliation): keyset scan of paid orders in id order
+CREATE INDEX idx_orders_payment_status_id ON orders (payment_status, id);
@@ -0,0 +1,4 @@
+-- payment.status events can now carry EXPIRED (payments-service expiry sweeper).
+-- Appended at the end of the ENUM list so MySQL changes metadata only, without a rebuild.
+ALTER TABLE orders MODIFY payment_status ENUM ('FAILED','PENDING','SUCCESS','EXPIRED') NOT NULL;
+ALTER TABLE user_order_summary MODIFY payment_status ENUM ('FAILED','PENDING','SUCCESS','EXPIRED');
@@ -0,0 +1,13 @@
+-- Durable async checkout queue and status (CheckoutPipeline)
+CREATE TABLE checkouts (
+    order_id        BINARY(16)    NOT NULL,
+    status          ENUM ('ACCEPTED','COMPLETED','FAILED','PROCESSING') NOT NULL,
+    request_body    TEXT          NOT NULL,
+    message         VARCHAR(1000),
+    next_attempt_at DATETIME(6),
+    created_at      DATETIME(6)   NOT NULL,
+    updated_at      DATETIME(6)   NOT NULL,
+    version         BIGINT,
+    PRIMARY KEY (order_id),
+    INDEX idx_checkouts_status_next_attempt (status, next_attempt_at)
+) ENGINE = InnoDB;
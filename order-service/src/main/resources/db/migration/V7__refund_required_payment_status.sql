@@ -0,0 +1,4 @@
+-- A SUCCESS payment on a cancelled order is flagged REFUND_REQUIRED instead of SUCCESS.
+-- Appended at the end of the ENUM list so MySQL changes metadata only, without a rebuild.
+ALTER TABLE orders MODIFY payment_status ENUM ('FAILED','PENDING','SUCCESS','EXPIRED','REFUND_REQUIRED') NOT NULL;
+ALTER TABLE user_order_summary MODIFY payment_status ENUM ('FAILED','PENDING','SUCCESS','EXPIRED','REFUND_REQUIRED');
@@ -0,0 +1,2 @@
+-- Transient checkout failures are retried with backoff (CheckoutPipeline)
+ALTER TABLE checkouts ADD COLUMN attempts INT NOT NULL DEFAULT 0;
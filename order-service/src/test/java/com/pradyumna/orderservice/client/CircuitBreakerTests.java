@@ -0,0 +1,135 @@
+package com.pradyumna.orderservice.client;
+
+import com.pradyumna.orderservice.client.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTests {
+
+    private static final long LONG_OPEN_MS = 60_000;
+
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker(int windowSize, int minimumCalls, long openDurationMs, int halfOpenCalls) {
+        return new CircuitBreaker(windowSize, minimumCalls, 50, openDurationMs, halfOpenCalls,
+                (from, to) -> transitions.add(from + "->" + to));
+    }
+
+    private static void call(CircuitBreaker breaker, boolean failure) {
+        assertTrue(breaker.tryAcquirePermission());
+        if (failure) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    private static void open(CircuitBreaker breaker) {
+        for (int i = 0; i < 5; i++) {
+            call(breaker, true);
+        }
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = breaker(10, 5, LONG_OPEN_MS, 1);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true);
+        }
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void opensAtFailureRateThresholdAndRejectsCalls() {
+        CircuitBreaker breaker = breaker(10, 4, LONG_OPEN_MS, 1);
+        call(breaker, false);
+        call(breaker, false);
+        call(breaker, true);
+        assertEquals(State.CLOSED, breaker.getState());
+
+        call(breaker, true);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void onlyTheLastWindowOfCallsCounts() {
+        CircuitBreaker breaker = breaker(4, 4, LONG_OPEN_MS, 1);
+        call(breaker, true);
+        for (int i = 0; i < 7; i++) {
+            call(breaker, false);
+        }
+        call(breaker, true);
+        assertEquals(State.CLOSED, breaker.getState());
+
+        // 2 of the last 4 failed; 3 of all 10 would stay below 50%
+        call(breaker, true);
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void halfOpenClosesOnceAllTrialsSucceed() {
+        CircuitBreaker breaker = breaker(10, 5, 0, 2);
+        open(breaker);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission(), "only halfOpenCalls trials may run");
+
+        breaker.onSuccess();
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void halfOpenTrialFailureReopens() {
+        CircuitBreaker breaker = breaker(10, 5, 0, 2);
+        open(breaker);
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void ignoredTrialFreesItsSlot() {
+        CircuitBreaker breaker = breaker(10, 5, 0, 1);
+        open(breaker);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void closingStartsAFreshWindow() {
+        CircuitBreaker breaker = breaker(10, 5, 0, 1);
+        open(breaker);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(State.CLOSED, breaker.getState());
+
+        // The failures that opened it are gone, so minimumCalls applies again
+        call(breaker, true);
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,73 @@
+package com.pradyumna.orderservice.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyTrackerTests {
+
+    @Test
+    void keepsInitialValueUntilEnoughSamples() {
+        LatencyTracker tracker = new LatencyTracker(100, 95, 150, 10);
+        for (int i = 0; i < 19; i++) {
+            tracker.record(500);
+        }
+
+        assertEquals(150, tracker.currentMs());
+    }
+
+    @Test
+    void tracksPercentileOfRecordedSamples() {
+        LatencyTracker tracker = new LatencyTracker(100, 95, 150, 10);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+
+        assertEquals(95, tracker.currentMs());
+    }
+
+    @Test
+    void onlyTheLastWindowCounts() {
+        LatencyTracker tracker = new LatencyTracker(100, 50, 150, 10);
+        for (int i = 0; i < 100; i++) {
+            tracker.record(1_000);
+        }
+        assertEquals(1_000, tracker.currentMs());
+
+        for (int i = 0; i < 100; i++) {
+            tracker.record(40);
+        }
+
+        assertEquals(40, tracker.currentMs());
+    }
+
+    @Test
+    void neverDropsBelowFloor() {
+        LatencyTracker tracker = new LatencyTracker(100, 95, 5, 25);
+        assertEquals(25, tracker.currentMs());
+
+        for (int i = 0; i < 100; i++) {
+            tracker.record(1);
+        }
+
+        assertEquals(25, tracker.currentMs());
+    }
+
+    @Test
+    void recomputesEveryTenthOfAWindow() {
+        LatencyTracker tracker = new LatencyTracker(100, 95, 150, 10);
+        for (int i = 0; i < 100; i++) {
+            tracker.record(100);
+        }
+        assertEquals(100, tracker.currentMs());
+
+        // 9 slow samples: no recompute yet; the 10th triggers it and moves p95 into the slow tail
+        for (int i = 0; i < 9; i++) {
+            tracker.record(10_000);
+        }
+        assertEquals(100, tracker.currentMs());
+        tracker.record(10_000);
+
+        assertEquals(10_000, tracker.currentMs());
+    }
+}
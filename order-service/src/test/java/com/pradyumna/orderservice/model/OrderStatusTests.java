@@ -0,0 +1,54 @@
+package com.pradyumna.orderservice.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusTests {
+
+    @ParameterizedTest
+    @CsvSource({
+            "PENDING, CONFIRMED",
+            "PENDING, CANCELLED",
+            "CONFIRMED, DELIVERED",
+            "CONFIRMED, CANCELLED"
+    })
+    void allowsForwardTransitions(OrderStatus from, OrderStatus to) {
+        assertTrue(from.canTransitionTo(to));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "PENDING, DELIVERED",
+            "CONFIRMED, PENDING"
+    })
+    void rejectsSkippedOrBackwardTransitions(OrderStatus from, OrderStatus to) {
+        assertFalse(from.canTransitionTo(to));
+    }
+
+    @ParameterizedTest
+    @EnumSource(OrderStatus.class)
+    void rejectsTransitionToSameStatus(OrderStatus status) {
+        // A repeated event must not re-apply its side effects
+        assertFalse(status.canTransitionTo(status));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = OrderStatus.class, names = {"CANCELLED", "DELIVERED"})
+    void finalStatusesAllowNothing(OrderStatus status) {
+        for (OrderStatus next : OrderStatus.values()) {
+            assertFalse(status.canTransitionTo(next), status + " -> " + next);
+        }
+    }
+
+    @Test
+    void everyStatusHasTransitionRules() {
+        // canTransitionTo would throw for a status missing from the table
+        for (OrderStatus status : OrderStatus.values()) {
+            assertDoesNotThrow(() -> status.canTransitionTo(OrderStatus.CANCELLED));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.pradyumna.paymentsservice.client;
+
+import com.pradyumna.paymentsservice.security.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OrderClient {
+
+    private static final ParameterizedTypeReference<List<UUID>> UUID_LIST = new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+    private final JwtUtil jwtUtil;
+
+    @Value("${order.service.url:http://localhost:8082/order/api/orders}")
+    private String orderServiceUrl;
+
+    /**
+     * One keyset page of paid order ids, after afterId (null = first page), in binary id order.
+     * Called from background jobs, so it authenticates with a service token.
+     */
+    public List<UUID> getPaidOrderIds(UUID afterId, int limit) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setBearerAuth(jwtUtil.generateToken("payments-service"));
+
+        UriComponentsBuilder url = UriComponentsBuilder.fromHttpUrl(orderServiceUrl + "/paid-ids")
+                .queryParam("limit", limit);
+        if (afterId != null) {
+            url.queryParam("afterId", afterId);
+        }
+
+        List<UUID> ids = restTemplate.exchange(url.toUriString(), HttpMethod.GET,
+                new HttpEntity<>(headers), UUID_LIST).getBody();
+        return ids != null ? ids : List.of();
+    }
+}
@@ -0,0 +1,73 @@
+package com.pradyumna.paymentsservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradyumna.common.model.UuidV7Generator;
+import com.pradyumna.common.rabbit.EventCodec;
+import com.pradyumna.common.warmup.JitWarmupSupport;
+import com.pradyumna.common.warmup.WarmupProperties;
+import com.pradyumna.paymentsservice.dto.OrderEvent;
+import com.pradyumna.paymentsservice.model.Payment;
+import com.pradyumna.paymentsservice.model.PaymentStatus;
+import com.pradyumna.paymentsservice.repository.PaymentRepository;
+import com.pradyumna.paymentsservice.security.JwtUtil;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Warms up the hot request paths (JWT check, order event decoding, Payment JSON, repository
+ * reads) before readiness goes UP; see {@link JitWarmupSupport}.
+ */
+@Component
+public class JitWarmup extends JitWarmupSupport {
+
+    private static final String WARMUP_USER = "warmup";
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final EventCodec eventCodec;
+    private final PaymentRepository paymentRepository;
+
+    public JitWarmup(
+            WarmupProperties properties,
+            JwtUtil jwtUtil,
+            ObjectMapper objectMapper,
+            EventCodec eventCodec,
+            PaymentRepository paymentRepository
+    ) {
+        super(properties);
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.eventCodec = eventCodec;
+        this.paymentRepository = paymentRepository;
+    }
+
+    @Override
+    protected void runStages(Stages stages) {
+        String token = jwtUtil.generateToken(WARMUP_USER);
+        OrderEvent event = new OrderEvent(UuidV7Generator.next(), -1L, new BigDecimal("59.97"), "PENDING", "PENDING");
+        Payment payment = Payment.builder()
+                .id(UuidV7Generator.next())
+                .orderId(event.id())
+                .userId(event.userId())
+                .amount(event.totalAmount())
+                .status(PaymentStatus.PENDING)
+                .paymentReferenceId("PAY-WARMUP")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        stages.run("jwt", properties.getJwtIterations(), () -> {
+            String username = jwtUtil.extractUsername(token);
+            jwtUtil.isTokenValid(token, username);
+        });
+        stages.run("events", properties.getIterations(),
+                () -> eventCodec.decode(eventCodec.encode(event), OrderEvent.class));
+        stages.run("json", properties.getIterations(), () -> objectMapper.writeValueAsBytes(payment));
+        stages.run("db", properties.getDbIterations(), () -> {
+            paymentRepository.findByOrderId(UuidV7Generator.next());
+            paymentRepository.findByUserId(-1L);
+        });
+    }
+}
@@ -1,10 +1,18 @@
 package com.pradyumna.paymentsservice.config;
 
+import com.pradyumna.common.rabbit.RabbitQueueProperties;
+import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RabbitQueueProperties.class)
 public class RabbitConfig {
 
     public static final String EXCHANGE = "order.events.exchange";
@@ -15,6 +23,11 @@ public class RabbitConfig {
     public static final String ORDER_CREATED_ROUTING_KEY = "order.created";
     public static final String PAYMENT_STATUS_ROUTING_KEY = "payment.status";
 
+    // Listener container factories
+    public static final String ORDER_CREATED_LISTENER_FACTORY = "orderCreatedListenerFactory";
+
+    private final RabbitQueueProperties queueProperties;
+
     @Bean
     public TopicExchange exchange() {
         return new TopicExchange(EXCHANGE, true, false);
@@ -23,7 +36,7 @@ public class RabbitConfig {
     // === Consumer Queue ===
     @Bean
     public Queue orderCreatedQueue() {
-        return QueueBuilder.durable(ORDER_CREATED_QUEUE).build();
+        return buildQueue(ORDER_CREATED_QUEUE, queueProperties.forQueue("order-created"));
     }
 
     @Bean
@@ -36,7 +49,7 @@ public class RabbitConfig {
     // === Producer Queue (must still declare + bind!) ===
     @Bean
     public Queue paymentStatusQueue() {
-        return QueueBuilder.durable(PAYMENT_STATUS_QUEUE).build();
+        return buildQueue(PAYMENT_STATUS_QUEUE, queueProperties.forQueue("payment-status"));
     }
 
     @Bean
@@ -45,4 +58,51 @@ public class RabbitConfig {
                 .to(exchange())
                 .with(PAYMENT_STATUS_ROUTING_KEY);
     }
+
+    // === Listener containers ===
+    @Bean(ORDER_CREATED_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory orderCreatedListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        return buildListenerFactory(configurer, connectionFactory, queueProperties.forQueue("order-created"));
+    }
+
+    private static Queue buildQueue(String name, RabbitQueueProperties.QueueSettings settings) {
+        QueueBuilder builder = QueueBuilder.durable(name);
+
+        switch (settings.getType()) {
+            case QUORUM -> builder.quorum();
+            case LAZY -> builder.lazy();
+            case CLASSIC -> { }
+        }
+        if (settings.getMaxLength() != null) {
+            builder.maxLength(settings.getMaxLength());
+        }
+        if ("drop-head".equals(settings.getOverflow())) {
+            builder.overflow(QueueBuilder.Overflow.dropHead);
+        } else if ("reject-publish".equals(settings.getOverflow())) {
+            builder.overflow(QueueBuilder.Overflow.rejectPublish);
+        }
+        return builder.build();
+    }
+
+    private static SimpleRabbitListenerContainerFactory buildListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            RabbitQueueProperties.QueueSettings settings) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        // Start from spring.rabbitmq.listener.simple.*, then apply per-queue overrides
+        configurer.configure(factory, connectionFactory);
+
+        if (settings.getConcurrency() != null) {
+            factory.setConcurrentConsumers(settings.getConcurrency());
+        }
+        if (settings.getMaxConcurrency() != null) {
+            factory.setMaxConcurrentConsumers(settings.getMaxConcurrency());
+        }
+        if (settings.getPrefetch() != null) {
+            factory.setPrefetchCount(settings.getPrefetch());
+        }
+        return factory;
+    }
 }
@@ -1,8 +1,10 @@
 package com.pradyumna.paymentsservice.controller;
 
+import com.pradyumna.paymentsservice.dto.ReconciliationReport;
 import com.pradyumna.paymentsservice.model.Payment;
 import com.pradyumna.paymentsservice.model.PaymentStatus;
 import com.pradyumna.paymentsservice.repository.PaymentRepository;
+import com.pradyumna.paymentsservice.service.PaymentReconciliationService;
 import com.pradyumna.paymentsservice.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
@@ -17,6 +19,7 @@ public class PaymentController {
 
     private final PaymentRepository paymentRepository;
     private final PaymentService paymentService;
+    private final PaymentReconciliationService reconciliationService;
 
     @GetMapping
     public ResponseEntity<List<Payment>> getAllPayments() {
@@ -53,4 +56,13 @@ public class PaymentController {
         return ResponseEntity.ok(updated);
     }
 
+    // ---------- RECONCILIATION ----------
+    /**
+     * Runs a payment/order reconciliation now and returns its report (409 if one is running).
+     * Blocks until done; on large tables prefer the scheduled run (reconciliation.enabled).
+     */
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReport> reconcile() {
+        return ResponseEntity.ok(reconciliationService.reconcile());
+    }
 }
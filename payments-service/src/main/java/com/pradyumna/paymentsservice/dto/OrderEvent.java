@@ -0,0 +1,18 @@
+package com.pradyumna.paymentsservice.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Wire format of order.created / order.status events published by order-service.
+ * Order statuses are kept as strings since payments-service does not own that enum.
+ */
+public record OrderEvent(
+        UUID id,
+        Long userId,
+        BigDecimal totalAmount,
+        String status,
+        String paymentStatus
+) {
+    public static final int SCHEMA_VERSION = 1;
+}
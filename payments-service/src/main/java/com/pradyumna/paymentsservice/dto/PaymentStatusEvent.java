@@ -0,0 +1,33 @@
+package com.pradyumna.paymentsservice.dto;
+
+import com.pradyumna.paymentsservice.model.Payment;
+import com.pradyumna.paymentsservice.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Wire format of payment.status events.
+ * Only the fields consumers read are sent; bump SCHEMA_VERSION on breaking changes.
+ */
+public record PaymentStatusEvent(
+        UUID id,
+        UUID orderId,
+        Long userId,
+        BigDecimal amount,
+        PaymentStatus status,
+        String paymentReferenceId
+) {
+    public static final int SCHEMA_VERSION = 1;
+
+    public static PaymentStatusEvent from(Payment payment) {
+        return new PaymentStatusEvent(
+                payment.getId(),
+                payment.getOrderId(),
+                payment.getUserId(),
+                payment.getAmount(),
+                payment.getStatus(),
+                payment.getPaymentReferenceId()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.pradyumna.paymentsservice.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationReport {
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private long paymentsScanned;
+    private long paidOrdersScanned;
+    private long matched;
+    // SUCCESS payment, but the order is not marked paid (payment.status re-emitted)
+    private long unpaidOrders;
+    private long republished;
+    // Order marked paid without a SUCCESS payment (reported only)
+    private long ordersWithoutPayment;
+    // First few ids of each kind (reconciliation.report-sample-size)
+    private List<UUID> unpaidOrderIds;
+    private List<UUID> ordersWithoutPaymentIds;
+}
@@ -54,6 +54,13 @@ public class GlobalExceptionHandler {
         return buildResponse(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    // ---------- Reconciliation ----------
+
+    @ExceptionHandler(ReconciliationInProgressException.class)
+    public ResponseEntity<Object> handleReconciliationInProgress(ReconciliationInProgressException ex) {
+        return buildResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
     // ---------- Validation & Generic Exceptions ----------
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -0,0 +1,7 @@
+package com.pradyumna.paymentsservice.exception;
+
+public class ReconciliationInProgressException extends RuntimeException {
+    public ReconciliationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.pradyumna.paymentsservice.model;
 
+import com.pradyumna.common.model.UuidV7;
 import com.pradyumna.paymentsservice.model.PaymentStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,7 +9,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_order_id", columnList = "orderId"),
+        @Index(name = "idx_payments_user_id", columnList = "userId"),
+        @Index(name = "idx_payments_status_order_id", columnList = "status, orderId"),
+        @Index(name = "idx_payments_status_created_at", columnList = "status, createdAt"),
+        @Index(name = "uk_payments_payment_reference_id", columnList = "paymentReferenceId", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +24,7 @@ import java.util.UUID;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     private UUID orderId;
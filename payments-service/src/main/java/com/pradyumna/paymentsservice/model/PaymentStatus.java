@@ -3,5 +3,7 @@ package com.pradyumna.paymentsservice.model;
 public enum PaymentStatus {
     PENDING,
     SUCCESS,
-    FAILED
+    FAILED,
+    // Still PENDING past payment.expiry.ttl-minutes (PaymentExpirySweeper)
+    EXPIRED
 }
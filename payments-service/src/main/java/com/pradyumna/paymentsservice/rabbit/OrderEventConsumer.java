@@ -1,13 +1,15 @@
 package com.pradyumna.paymentsservice.rabbit;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradyumna.common.rabbit.EventCodec;
+import com.pradyumna.paymentsservice.dto.OrderEvent;
 import com.pradyumna.paymentsservice.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import static com.pradyumna.paymentsservice.config.RabbitConfig.ORDER_CREATED_LISTENER_FACTORY;
 import static com.pradyumna.paymentsservice.config.RabbitConfig.ORDER_CREATED_QUEUE;
 
 @Slf4j
@@ -15,16 +17,16 @@ import static com.pradyumna.paymentsservice.config.RabbitConfig.ORDER_CREATED_QU
 @RequiredArgsConstructor
 public class OrderEventConsumer {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EventCodec eventCodec;
     private final PaymentService paymentService;
 
-    @RabbitListener(queues = ORDER_CREATED_QUEUE)
-    public void consumeOrderCreated(String message) {
+    @RabbitListener(queues = ORDER_CREATED_QUEUE, containerFactory = ORDER_CREATED_LISTENER_FACTORY)
+    public void consumeOrderCreated(Message message) {
         try {
-            JsonNode json = objectMapper.readTree(message);
-            log.info("📥 Received order_created event: {}", message);
+            OrderEvent event = eventCodec.decode(message, OrderEvent.class);
+            log.info("📥 Received order_created event: {}", event);
 
-            paymentService.initiatePayment(json);
+            paymentService.initiatePayment(event);
             log.info("➡️ Payment row created in PENDING state");
 
         } catch (Exception e) {
@@ -1,15 +1,18 @@
 package com.pradyumna.paymentsservice.rabbit;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pradyumna.common.rabbit.ConfirmingEventPublisher;
+import com.pradyumna.common.rabbit.EventCodec;
+import com.pradyumna.paymentsservice.dto.PaymentStatusEvent;
 import com.pradyumna.paymentsservice.model.Payment;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
-import static com.pradyumna.paymentsservice.config.RabbitConfig.EXCHANGE;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.pradyumna.paymentsservice.config.RabbitConfig.PAYMENT_STATUS_ROUTING_KEY;
 
 @Slf4j
@@ -17,27 +20,47 @@ import static com.pradyumna.paymentsservice.config.RabbitConfig.PAYMENT_STATUS_R
 @RequiredArgsConstructor
 public class PaymentEventProducer {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final ConfirmingEventPublisher publisher;
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final EventCodec eventCodec;
 
+    /**
+     * Throws when the event could not be published (in sync mode: not confirmed by the
+     * broker), so the caller's transaction rolls back instead of committing without it.
+     */
     public void publishPaymentStatus(Payment payment) {
+        PaymentStatusEvent event = PaymentStatusEvent.from(payment);
         try {
-            String json = objectMapper.writeValueAsString(payment);
-
-            rabbitTemplate.convertAndSend(
-                    EXCHANGE,
-                    PAYMENT_STATUS_ROUTING_KEY,
-                    json
-            );
+            publisher.publish(PAYMENT_STATUS_ROUTING_KEY, eventCodec.encode(event), "payment_status",
+                    PaymentStatusEvent.SCHEMA_VERSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode payment_status event for payment " + payment.getId(), e);
+        } catch (Exception e) {
+            log.error("❌ Failed to publish payment_status event | paymentId={} cause={}",
+                    payment.getId(), e.getMessage());
+            throw e;
+        }
 
-            log.info("🐇 Published payment_status event | routingKey={} payload={}",
-                    PAYMENT_STATUS_ROUTING_KEY, json);
+        log.info("🐇 Published payment_status event | routingKey={} payload={}",
+                PAYMENT_STATUS_ROUTING_KEY, event);
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Failed to publish payment_status event", e);
+    /**
+     * Bulk variant for background jobs; like publishPaymentStatus it throws when the events
+     * could not be published, so the caller can roll back and retry.
+     */
+    public void publishPaymentStatuses(List<Payment> payments) {
+        List<Object> messages = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            try {
+                messages.add(eventCodec.encode(PaymentStatusEvent.from(payment)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to encode payment_status event for payment " + payment.getId(), e);
+            }
         }
+
+        publisher.publishAll(PAYMENT_STATUS_ROUTING_KEY, messages, "payment_status", PaymentStatusEvent.SCHEMA_VERSION);
+
+        log.info("🐇 Published {} payment_status events | routingKey={}", messages.size(), PAYMENT_STATUS_ROUTING_KEY);
     }
 }
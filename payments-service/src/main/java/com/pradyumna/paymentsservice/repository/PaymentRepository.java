@@ -1,8 +1,17 @@
 package com.pradyumna.paymentsservice.repository;
 
 import com.pradyumna.paymentsservice.model.Payment;
+import com.pradyumna.paymentsservice.model.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +21,36 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     Optional<Payment> findByOrderId(UUID orderId);
     List<Payment> findAllByOrderId(UUID orderId);
     List<Payment> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Row lock for POST /pay, so it cannot interleave with the expiry sweeper
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.orderId = :orderId")
+    Optional<Payment> findForUpdateByOrderId(@Param("orderId") UUID orderId);
+
+    // Oldest expired PENDING payments, locked; rows another replica (or /pay) holds are
+    // skipped instead of waited for. Served by idx_payments_status_created_at.
+    @Query(value = "SELECT * FROM payments WHERE status = 'PENDING' AND created_at < :cutoff " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Payment> claimPendingCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :status, p.updatedAt = :now WHERE p.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("status") PaymentStatus status,
+                     @Param("now") LocalDateTime now);
+
+    long countByStatusAndCreatedAtBefore(PaymentStatus status, LocalDateTime cutoff);
+
+    // Keyset page in (orderId, id) order, served by idx_payments_status_order_id (InnoDB
+    // appends the primary key). Rows changed since `before` are left out: their event may
+    // still be on its way.
+    @Query("SELECT p FROM Payment p WHERE p.status = :status " +
+            "AND (p.orderId > :afterOrderId OR (p.orderId = :afterOrderId AND p.id > :afterId)) " +
+            "AND (p.updatedAt IS NULL OR p.updatedAt < :before) " +
+            "ORDER BY p.orderId, p.id")
+    List<Payment> findPageByStatusAfter(@Param("status") PaymentStatus status,
+                                        @Param("afterOrderId") UUID afterOrderId,
+                                        @Param("afterId") UUID afterId,
+                                        @Param("before") LocalDateTime before,
+                                        Limit limit);
+}
@@ -0,0 +1,134 @@
+package com.pradyumna.paymentsservice.service;
+
+import com.pradyumna.paymentsservice.model.Payment;
+import com.pradyumna.paymentsservice.model.PaymentStatus;
+import com.pradyumna.paymentsservice.rabbit.PaymentEventProducer;
+import com.pradyumna.paymentsservice.repository.PaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Marks payments still PENDING after payment.expiry.ttl-minutes as EXPIRED and publishes a
+ * payment.status event for each.
+ *
+ * The TTL must be shorter than order-service's saga.payment-timeout-minutes by more than the
+ * sweep interval and the event lag (defaults 30 vs 45 minutes). The expiry then decides the
+ * race: the EXPIRED event cancels the order and /pay is refused. If the saga timed out first,
+ * it would cancel an order whose payment can still succeed, and that payment would have to be
+ * refunded.
+ *
+ * Each batch is claimed with SELECT ... FOR UPDATE SKIP LOCKED, so every replica can run the
+ * sweeper: they take disjoint batches and never wait on each other or on a concurrent /pay
+ * (which locks its row too). The batch is updated with one statement and its events are
+ * published, all confirmed together, before the transaction commits. A failed publish rolls
+ * the batch back, and it is picked up again on the next run.
+ */
+@Slf4j
+@Service
+public class PaymentExpirySweeper {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Counter expiredCounter;
+    private final Counter failedBatchCounter;
+    private final Timer batchTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public PaymentExpirySweeper(
+            PaymentRepository paymentRepository,
+            PaymentEventProducer eventProducer,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${payment.expiry.enabled:true}") boolean enabled,
+            @Value("${payment.expiry.ttl-minutes:30}") long ttlMinutes,
+            @Value("${payment.expiry.batch-size:500}") int batchSize,
+            @Value("${payment.expiry.max-batches-per-run:20}") int maxBatchesPerRun
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.eventProducer = eventProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+
+        this.expiredCounter = meterRegistry.counter("payments.expiry.expired");
+        this.failedBatchCounter = meterRegistry.counter("payments.expiry.failed_batches");
+        this.batchTimer = Timer.builder("payments.expiry.batch")
+                .description("Claim, update and publish of one expiry batch")
+                .register(meterRegistry);
+        Gauge.builder("payments.expiry.backlog", backlog, AtomicLong::get)
+                .description("PENDING payments past their TTL, as of the last sweep")
+                .register(meterRegistry);
+    }
+
+    // ---------------------------------------------------
+    // ✅ SWEEP
+    // ---------------------------------------------------
+    @Scheduled(fixedDelayString = "${payment.expiry.interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        int expired = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int claimed = batchTimer.record(() -> expireBatch(cutoff));
+                expired += claimed;
+                if (claimed < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            failedBatchCounter.increment();
+            log.error("❌ Payment expiry batch failed; it will be retried next run", e);
+        }
+
+        backlog.set(paymentRepository.countByStatusAndCreatedAtBefore(PaymentStatus.PENDING, cutoff));
+        if (expired > 0) {
+            log.info("⌛ Expired {} unpaid payments | backlog={}", expired, backlog.get());
+        }
+    }
+
+    private int expireBatch(LocalDateTime cutoff) {
+        Integer expired = transactionTemplate.execute(status -> {
+            List<Payment> payments = paymentRepository.claimPendingCreatedBefore(cutoff, batchSize);
+            if (payments.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            paymentRepository.updateStatus(payments.stream().map(Payment::getId).toList(),
+                    PaymentStatus.EXPIRED, now);
+
+            // Detached by the bulk update; these copies only feed the events
+            payments.forEach(payment -> {
+                payment.setStatus(PaymentStatus.EXPIRED);
+                payment.setUpdatedAt(now);
+            });
+            eventProducer.publishPaymentStatuses(payments);
+            return payments.size();
+        });
+        expiredCounter.increment(expired);
+        return expired;
+    }
+}
@@ -0,0 +1,275 @@
+package com.pradyumna.paymentsservice.service;
+
+import com.pradyumna.paymentsservice.client.OrderClient;
+import com.pradyumna.paymentsservice.dto.ReconciliationReport;
+import com.pradyumna.paymentsservice.exception.ReconciliationInProgressException;
+import com.pradyumna.paymentsservice.model.Payment;
+import com.pradyumna.paymentsservice.model.PaymentStatus;
+import com.pradyumna.paymentsservice.rabbit.PaymentEventProducer;
+import com.pradyumna.paymentsservice.repository.PaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Checks that every SUCCESS payment has a paid order in order-service and the other way round.
+ *
+ * Both sides are read as keyset-ordered chunks sorted by order id (SUCCESS payments from this
+ * database, paid order ids from GET /api/orders/paid-ids) and merge-joined, so memory stays at
+ * two chunks whatever the table sizes. MySQL sorts the BINARY(16) ids bytewise, which is what
+ * BINARY_ORDER compares.
+ *
+ * - SUCCESS payment, order not paid: the payment.status event was lost or failed in
+ *   order-service; it is published again (order-service ignores duplicate SUCCESS updates).
+ *   Orders cancelled before their payment landed are REFUND_REQUIRED there and keep
+ *   showing up here until refunded.
+ * - Paid order, no SUCCESS payment: reported only, nothing here can fix it.
+ *
+ * Payments changed within the grace period are skipped, so events still in flight do not
+ * show up as discrepancies.
+ */
+@Slf4j
+@Service
+public class PaymentReconciliationService {
+
+    // Unsigned msb then lsb = MySQL's byte order for UUIDs stored as BINARY(16)
+    static final Comparator<UUID> BINARY_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    private final PaymentRepository paymentRepository;
+    private final OrderClient orderClient;
+    private final PaymentEventProducer eventProducer;
+
+    private final boolean scheduleEnabled;
+    private final int chunkSize;
+    private final long graceMinutes;
+    private final boolean republishEnabled;
+    private final int maxRepublishPerRun;
+    private final int reportSampleSize;
+
+    private final Counter unpaidOrdersCounter;
+    private final Counter ordersWithoutPaymentCounter;
+    private final Counter republishedCounter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PaymentReconciliationService(
+            PaymentRepository paymentRepository,
+            OrderClient orderClient,
+            PaymentEventProducer eventProducer,
+            MeterRegistry meterRegistry,
+            @Value("${reconciliation.enabled:false}") boolean scheduleEnabled,
+            @Value("${reconciliation.chunk-size:1000}") int chunkSize,
+            @Value("${reconciliation.grace-minutes:10}") long graceMinutes,
+            @Value("${reconciliation.republish-enabled:true}") boolean republishEnabled,
+            @Value("${reconciliation.max-republish-per-run:10000}") int maxRepublishPerRun,
+            @Value("${reconciliation.report-sample-size:100}") int reportSampleSize
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.orderClient = orderClient;
+        this.eventProducer = eventProducer;
+        this.scheduleEnabled = scheduleEnabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.graceMinutes = graceMinutes;
+        this.republishEnabled = republishEnabled;
+        this.maxRepublishPerRun = maxRepublishPerRun;
+        this.reportSampleSize = reportSampleSize;
+
+        this.unpaidOrdersCounter = meterRegistry.counter("payments.reconciliation.discrepancies",
+                "type", "unpaid_order");
+        this.ordersWithoutPaymentCounter = meterRegistry.counter("payments.reconciliation.discrepancies",
+                "type", "order_without_payment");
+        this.republishedCounter = meterRegistry.counter("payments.reconciliation.republished");
+    }
+
+    @Scheduled(cron = "${reconciliation.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!scheduleEnabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (ReconciliationInProgressException e) {
+            log.info("⏭️ Skipping scheduled reconciliation: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Payment reconciliation failed", e);
+        }
+    }
+
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReconciliationInProgressException("A payment reconciliation is already running");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+        LocalDateTime before = startedAt.minusMinutes(graceMinutes);
+
+        ChunkCursor<Payment> payments = new ChunkCursor<>(last -> paymentRepository.findPageByStatusAfter(
+                PaymentStatus.SUCCESS,
+                last != null ? last.getOrderId() : MIN_ID,
+                last != null ? last.getId() : MIN_ID,
+                before,
+                Limit.of(chunkSize)));
+        ChunkCursor<UUID> paidOrders = new ChunkCursor<>(last -> orderClient.getPaidOrderIds(last, chunkSize));
+
+        Tally tally = new Tally();
+        while (payments.peek() != null || paidOrders.peek() != null) {
+            Payment payment = payments.peek();
+            UUID paidOrderId = paidOrders.peek();
+            int order = payment == null ? 1
+                    : paidOrderId == null ? -1
+                    : BINARY_ORDER.compare(payment.getOrderId(), paidOrderId);
+
+            if (order < 0) {
+                Payment unpaid = payments.next();
+                // Counted and republished once per order, however many SUCCESS rows it has
+                skipPaymentsOf(unpaid.getOrderId(), payments);
+                onUnpaidOrder(unpaid, tally);
+            } else if (order > 0) {
+                onOrderWithoutPayment(paidOrders.next(), tally);
+            } else {
+                tally.matched++;
+                paidOrders.next();
+                // An order can have several SUCCESS payment rows; all of them match it
+                skipPaymentsOf(paidOrderId, payments);
+            }
+        }
+
+        ReconciliationReport report = ReconciliationReport.builder()
+                .startedAt(startedAt)
+                .durationMs(System.currentTimeMillis() - start)
+                .paymentsScanned(payments.consumed())
+                .paidOrdersScanned(paidOrders.consumed())
+                .matched(tally.matched)
+                .unpaidOrders(tally.unpaidOrderIds.total)
+                .republished(tally.republished)
+                .ordersWithoutPayment(tally.ordersWithoutPaymentIds.total)
+                .unpaidOrderIds(tally.unpaidOrderIds.sample)
+                .ordersWithoutPaymentIds(tally.ordersWithoutPaymentIds.sample)
+                .build();
+
+        log.info("🧾 Payment reconciliation done in {} ms | payments={} paidOrders={} matched={} "
+                        + "unpaidOrders={} republished={} ordersWithoutPayment={}",
+                report.getDurationMs(), report.getPaymentsScanned(), report.getPaidOrdersScanned(),
+                report.getMatched(), report.getUnpaidOrders(), report.getRepublished(),
+                report.getOrdersWithoutPayment());
+        return report;
+    }
+
+    private static void skipPaymentsOf(UUID orderId, ChunkCursor<Payment> payments) {
+        while (payments.peek() != null && payments.peek().getOrderId().equals(orderId)) {
+            payments.next();
+        }
+    }
+
+    private void onUnpaidOrder(Payment payment, Tally tally) {
+        unpaidOrdersCounter.increment();
+        if (tally.unpaidOrderIds.add(payment.getOrderId())) {
+            log.warn("⚠️ Payment {} is SUCCESS but order {} is not paid", payment.getId(), payment.getOrderId());
+        }
+        if (republishEnabled && tally.republished < maxRepublishPerRun) {
+            try {
+                eventProducer.publishPaymentStatus(payment);
+            } catch (Exception e) {
+                // Still unpaid next run, which retries it; the rest of this run goes on
+                log.warn("⚠️ Could not republish payment {}: {}", payment.getId(), e.getMessage());
+                return;
+            }
+            tally.republished++;
+            republishedCounter.increment();
+        }
+    }
+
+    private void onOrderWithoutPayment(UUID orderId, Tally tally) {
+        // The order may have been paid within the grace period, which the payment scan skips
+        if (paymentRepository.findAllByOrderId(orderId).stream()
+                .anyMatch(p -> p.getStatus() == PaymentStatus.SUCCESS)) {
+            tally.matched++;
+            return;
+        }
+        ordersWithoutPaymentCounter.increment();
+        if (tally.ordersWithoutPaymentIds.add(orderId)) {
+            log.warn("⚠️ Order {} is paid but has no SUCCESS payment", orderId);
+        }
+    }
+
+    private final class Tally {
+        private long matched;
+        private long republished;
+        private final Sample unpaidOrderIds = new Sample();
+        private final Sample ordersWithoutPaymentIds = new Sample();
+    }
+
+    // Running count plus the first reportSampleSize ids
+    private final class Sample {
+        private long total;
+        private final List<UUID> sample = new ArrayList<>();
+
+        boolean add(UUID id) {
+            total++;
+            if (sample.size() < reportSampleSize) {
+                sample.add(id);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Walks a keyset-paged source one element at a time; only the current chunk is held.
+     * The loader gets the last element of the previous chunk (null for the first).
+     */
+    private static final class ChunkCursor<T> {
+        private final Function<T, List<T>> loader;
+        private List<T> chunk = List.of();
+        private int position;
+        private T last;
+        private boolean exhausted;
+        private long consumed;
+
+        ChunkCursor(Function<T, List<T>> loader) {
+            this.loader = loader;
+        }
+
+        T peek() {
+            if (position == chunk.size() && !exhausted) {
+                chunk = loader.apply(last);
+                position = 0;
+                exhausted = chunk.isEmpty();
+            }
+            return exhausted ? null : chunk.get(position);
+        }
+
+        T next() {
+            T element = peek();
+            position++;
+            last = element;
+            consumed++;
+            return element;
+        }
+
+        long consumed() {
+            return consumed;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.pradyumna.paymentsservice.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.pradyumna.paymentsservice.dto.OrderEvent;
+import com.pradyumna.paymentsservice.exception.PaymentUpdateException;
 import com.pradyumna.paymentsservice.rabbit.PaymentEventProducer;
 import com.pradyumna.paymentsservice.model.Payment;
 import com.pradyumna.paymentsservice.model.PaymentStatus;
@@ -10,7 +11,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Slf4j
@@ -26,15 +26,11 @@ public class PaymentService {
      * Creates a PENDING payment row and returns the paymentReferenceId (for logging).
      */
     @Transactional
-    public void initiatePayment(JsonNode orderEvent) {
-        UUID orderId = UUID.fromString(orderEvent.get("id").asText());
-        Long userId = orderEvent.get("userId").asLong();
-        BigDecimal amount = new BigDecimal(orderEvent.get("totalAmount").asText());
-
+    public void initiatePayment(OrderEvent orderEvent) {
         Payment payment = Payment.builder()
-                .orderId(orderId)
-                .userId(userId)
-                .amount(amount)
+                .orderId(orderEvent.id())
+                .userId(orderEvent.userId())
+                .amount(orderEvent.totalAmount())
                 .status(PaymentStatus.PENDING)
                 .paymentReferenceId(null)  // IMPORTANT
                 .build();
@@ -50,9 +46,17 @@ public class PaymentService {
     @Transactional
     public Payment simulatePayment(UUID orderId, PaymentStatus newStatus) {
 
-        Payment payment = paymentRepository.findByOrderId(orderId)
+        Payment payment = paymentRepository.findForUpdateByOrderId(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Payment not found for order: " + orderId));
 
+        if (payment.getStatus() == PaymentStatus.EXPIRED) {
+            throw new PaymentUpdateException("Payment for order " + orderId + " has expired");
+        }
+        // SUCCESS and FAILED are final; a FAILED payment has already cancelled its order
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            throw new PaymentUpdateException("Payment for order " + orderId + " is already " + payment.getStatus());
+        }
+
         payment.setStatus(newStatus);
 
         // generate reference ONLY after successful payment
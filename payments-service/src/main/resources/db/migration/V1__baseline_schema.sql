@@ -0,0 +1,14 @@
+-- Schema as previously created by ddl-auto=update.
+-- Existing databases are baselined at version 1 and skip this script.
+
+CREATE TABLE payments (
+    id                   BINARY(16) NOT NULL,
+    order_id             BINARY(16),
+    user_id              BIGINT,
+    amount               DECIMAL(38, 2),
+    status               ENUM ('FAILED','PENDING','SUCCESS'),
+    payment_reference_id VARCHAR(255),
+    created_at           DATETIME(6),
+    updated_at           DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
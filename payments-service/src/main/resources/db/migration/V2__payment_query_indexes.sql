@@ -0,0 +1,9 @@
+-- findByOrderId / findAllByOrderId (order.created handling, POST /pay)
+CREATE INDEX idx_payments_order_id ON payments (order_id);
+
+-- GET /api/payments/user/{id}
+CREATE INDEX idx_payments_user_id ON payments (user_id);
+
+-- GET /api/payments/ref/{paymentReferenceId}; references are generated per payment
+-- and NULL until paid (MySQL allows any number of NULLs in a unique index)
+CREATE UNIQUE INDEX uk_payments_payment_reference_id ON payments (payment_reference_id);
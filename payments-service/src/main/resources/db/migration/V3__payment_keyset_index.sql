@@ -0,0 +1,2 @@
+-- Payment reconciliation: keyset scan of SUCCESS payments in order_id order
+CREATE INDEX idx_payments_status_order_id ON payments (status, order_id);
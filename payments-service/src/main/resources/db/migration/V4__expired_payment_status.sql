@@ -0,0 +1,6 @@
+-- EXPIRED payments (PaymentExpirySweeper). Appending to the end of the ENUM list is a
+-- metadata-only change in MySQL; inserting it anywhere else would rebuild the table.
+ALTER TABLE payments MODIFY status ENUM ('FAILED','PENDING','SUCCESS','EXPIRED');
+
+-- Sweeper claim: oldest PENDING payments first
+CREATE INDEX idx_payments_status_created_at ON payments (status, created_at);
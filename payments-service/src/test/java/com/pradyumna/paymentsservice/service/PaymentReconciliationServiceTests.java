@@ -0,0 +1,177 @@
+package com.pradyumna.paymentsservice.service;
+
+import com.pradyumna.common.model.UuidV7Generator;
+import com.pradyumna.paymentsservice.client.OrderClient;
+import com.pradyumna.paymentsservice.dto.ReconciliationReport;
+import com.pradyumna.paymentsservice.model.Payment;
+import com.pradyumna.paymentsservice.model.PaymentStatus;
+import com.pradyumna.paymentsservice.rabbit.PaymentEventProducer;
+import com.pradyumna.paymentsservice.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static com.pradyumna.paymentsservice.service.PaymentReconciliationService.BINARY_ORDER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentReconciliationServiceTests {
+
+    // order-service OrderService.MAX_PAID_IDS_PAGE: larger limits come back as short pages
+    private static final int MAX_PAID_IDS_PAGE = 5000;
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final OrderClient orderClient = mock(OrderClient.class);
+    private final PaymentEventProducer eventProducer = mock(PaymentEventProducer.class);
+
+    private PaymentReconciliationService service(int chunkSize) {
+        return new PaymentReconciliationService(paymentRepository, orderClient, eventProducer,
+                new SimpleMeterRegistry(), false, chunkSize, 10, true, 10_000, 100);
+    }
+
+    @Test
+    void mergesInterleavedKeysAcrossChunks() {
+        List<UUID> ids = orderIds(5);
+        UUID a = ids.get(0), b = ids.get(1), c = ids.get(2), d = ids.get(3), e = ids.get(4);
+        Payment unpaid = payment(e);
+        stubPayments(List.of(payment(a), payment(c), unpaid));
+        stubPaidOrders(List.of(a, b, c, d));
+
+        ReconciliationReport report = service(2).reconcile();
+
+        assertEquals(2, report.getMatched());
+        assertEquals(1, report.getUnpaidOrders());
+        assertEquals(List.of(e), report.getUnpaidOrderIds());
+        assertEquals(2, report.getOrdersWithoutPayment());
+        assertEquals(List.of(b, d), report.getOrdersWithoutPaymentIds());
+        assertEquals(3, report.getPaymentsScanned());
+        assertEquals(4, report.getPaidOrdersScanned());
+        verify(eventProducer).publishPaymentStatus(unpaid);
+        assertEquals(1, report.getRepublished());
+    }
+
+    @Test
+    void comparesIdsWithTheHighBitSetAsUnsigned() {
+        UUID low1 = new UUID(0x0000_0000_0000_0001L, 1);
+        UUID low2 = new UUID(0x7fff_ffff_ffff_ffffL, 1);
+        // Negative as signed longs (msb, then lsb), so a signed comparison would put them first
+        UUID high1 = new UUID(0x8000_0000_0000_0000L, 1);
+        UUID high2 = new UUID(0xffff_ffff_ffff_fff0L, 1);
+        UUID high3 = new UUID(0xffff_ffff_ffff_fff0L, 0x8000_0000_0000_0000L);
+        stubPayments(List.of(payment(low1), payment(high1), payment(high3)));
+        stubPaidOrders(List.of(low2, high1, high2, high3));
+
+        ReconciliationReport report = service(2).reconcile();
+
+        assertEquals(2, report.getMatched());
+        assertEquals(List.of(low1), report.getUnpaidOrderIds());
+        assertEquals(List.of(low2, high2), report.getOrdersWithoutPaymentIds());
+    }
+
+    @Test
+    void countsSeveralSuccessPaymentsOfOneOrderOnce() {
+        List<UUID> ids = orderIds(3);
+        UUID paid = ids.get(0), unpaid = ids.get(1), last = ids.get(2);
+        List<Payment> payments = new ArrayList<>();
+        // Spread over chunk boundaries with a chunk size of 2
+        for (int i = 0; i < 3; i++) {
+            payments.add(payment(paid));
+        }
+        for (int i = 0; i < 2; i++) {
+            payments.add(payment(unpaid));
+        }
+        payments.add(payment(last));
+        stubPayments(payments);
+        stubPaidOrders(List.of(paid, last));
+
+        ReconciliationReport report = service(2).reconcile();
+
+        assertEquals(2, report.getMatched());
+        assertEquals(1, report.getUnpaidOrders());
+        assertEquals(List.of(unpaid), report.getUnpaidOrderIds());
+        assertEquals(0, report.getOrdersWithoutPayment());
+        assertEquals(6, report.getPaymentsScanned());
+        verify(eventProducer, times(1)).publishPaymentStatus(any());
+    }
+
+    @Test
+    void keepsPagingWhenOrderServiceCapsTheChunk() {
+        int chunkSize = 6000;
+        List<UUID> ids = orderIds(2 * MAX_PAID_IDS_PAGE + 1);
+        stubPayments(ids.stream().map(PaymentReconciliationServiceTests::payment).toList());
+        stubPaidOrders(ids);
+
+        ReconciliationReport report = service(chunkSize).reconcile();
+
+        assertEquals(ids.size(), report.getMatched());
+        assertEquals(ids.size(), report.getPaidOrdersScanned());
+        assertEquals(0, report.getUnpaidOrders());
+        assertEquals(0, report.getOrdersWithoutPayment());
+        // Pages of 5000, 5000 and 1, then the empty page that ends the scan
+        verify(orderClient, times(4)).getPaidOrderIds(any(), eq(chunkSize));
+        verifyNoInteractions(eventProducer);
+    }
+
+    // ---------------------------------------------------
+    // Stubs: keyset pages in MySQL's BINARY(16) order
+    // ---------------------------------------------------
+    private void stubPayments(List<Payment> payments) {
+        List<Payment> sorted = payments.stream()
+                .sorted(Comparator.comparing(Payment::getOrderId, BINARY_ORDER)
+                        .thenComparing(Payment::getId, BINARY_ORDER))
+                .toList();
+        when(paymentRepository.findPageByStatusAfter(eq(PaymentStatus.SUCCESS), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    UUID afterOrderId = invocation.getArgument(1);
+                    UUID afterId = invocation.getArgument(2);
+                    Limit limit = invocation.getArgument(4);
+                    return sorted.stream()
+                            .filter(p -> {
+                                int order = BINARY_ORDER.compare(p.getOrderId(), afterOrderId);
+                                return order > 0 || (order == 0 && BINARY_ORDER.compare(p.getId(), afterId) > 0);
+                            })
+                            .limit(limit.max())
+                            .toList();
+                });
+    }
+
+    private void stubPaidOrders(List<UUID> orderIds) {
+        List<UUID> sorted = orderIds.stream().sorted(BINARY_ORDER).toList();
+        when(orderClient.getPaidOrderIds(any(), anyInt())).thenAnswer(invocation -> {
+            UUID afterId = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return sorted.stream()
+                    .filter(id -> afterId == null || BINARY_ORDER.compare(id, afterId) > 0)
+                    .limit(Math.min(limit, MAX_PAID_IDS_PAGE))
+                    .toList();
+        });
+    }
+
+    private static List<UUID> orderIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+        return ids;
+    }
+
+    // Older than the grace period, so the scan includes it
+    private static Payment payment(UUID orderId) {
+        return Payment.builder()
+                .id(UuidV7Generator.next())
+                .orderId(orderId)
+                .userId(1L)
+                .status(PaymentStatus.SUCCESS)
+                .paymentReferenceId(UUID.randomUUID().toString())
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .updatedAt(LocalDateTime.now().minusHours(1))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.pradyumna.productservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradyumna.common.model.UuidV7Generator;
+import com.pradyumna.common.warmup.JitWarmupSupport;
+import com.pradyumna.common.warmup.WarmupProperties;
+import com.pradyumna.productservice.model.Product;
+import com.pradyumna.productservice.repository.ProductRepository;
+import com.pradyumna.productservice.security.JwtUtil;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Warms up the hot request paths (JWT check, Product JSON, repository reads)
+ * before readiness goes UP; see {@link JitWarmupSupport}.
+ */
+@Component
+public class JitWarmup extends JitWarmupSupport {
+
+    private static final String WARMUP_USER = "warmup";
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final ProductRepository productRepository;
+
+    public JitWarmup(
+            WarmupProperties properties,
+            JwtUtil jwtUtil,
+            ObjectMapper objectMapper,
+            ProductRepository productRepository
+    ) {
+        super(properties);
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    protected void runStages(Stages stages) {
+        String token = jwtUtil.generateToken(WARMUP_USER);
+        List<Product> products = IntStream.range(0, 20).mapToObj(JitWarmup::sampleProduct).toList();
+
+        stages.run("jwt", properties.getJwtIterations(), () -> {
+            String username = jwtUtil.extractUsername(token);
+            jwtUtil.isTokenValid(token, username);
+        });
+        stages.run("json", properties.getIterations(), () -> {
+            objectMapper.writeValueAsBytes(products.get(0));
+            objectMapper.readValue(objectMapper.writeValueAsBytes(products.get(1)), Product.class);
+        });
+        stages.run("jsonList", properties.getIterations() / 10, () -> objectMapper.writeValueAsBytes(products));
+        stages.run("db", properties.getDbIterations(), () -> {
+            productRepository.findById(UuidV7Generator.next());
+            productRepository.findAll(PageRequest.of(0, 20));
+        });
+    }
+
+    private static Product sampleProduct(int i) {
+        return Product.builder()
+                .id(UuidV7Generator.next())
+                .name("Warm-up product " + i)
+                .description("Used to warm up the JIT before readiness")
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(100)
+                .category("warmup")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .sku("WARMUP-" + i)
+                .imageUrl("https://example.invalid/warmup.png")
+                .build();
+    }
+}
@@ -47,6 +47,29 @@ public class ProductController {
     }
 
 
+    // ---------- STOCK (used by the order saga) ----------
+
+    // Idempotency-Key makes retries safe: each key moves stock at most once
+    @PostMapping("/{id}/stock/reserve")
+    public ResponseEntity<Void> reserveStock(
+            @PathVariable UUID id,
+            @RequestParam int quantity,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        productService.reserveStock(id, quantity, idempotencyKey);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{id}/stock/release")
+    public ResponseEntity<Void> releaseStock(
+            @PathVariable UUID id,
+            @RequestParam int quantity,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        productService.releaseStock(id, quantity, idempotencyKey);
+        return ResponseEntity.ok().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable UUID id) {
         productService.deleteProduct(id);
@@ -1,5 +1,6 @@
 package com.pradyumna.productservice.model;
 
+import com.pradyumna.common.model.UuidV7;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -9,7 +10,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_sku", columnList = "sku")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +21,7 @@ import java.util.UUID;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @NotBlank(message = "Product name is required")
@@ -0,0 +1,6 @@
+package com.pradyumna.productservice.model;
+
+public enum StockReservationStatus {
+    RESERVED,
+    RELEASED    // released, or released before the reservation ever arrived
+}
@@ -2,6 +2,9 @@ package com.pradyumna.productservice.repository;
 
 import com.pradyumna.productservice.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +14,15 @@ import java.util.UUID;
 public interface ProductRepository extends JpaRepository<Product, UUID> {
     boolean existsBySku(String sku);  // ✅ This line fixes the issue
     Optional<Product> findBySku(String sku); // Optional helper if needed later
+
+    // Atomic stock moves: no read-modify-write race between concurrent checkouts
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity " +
+            "WHERE p.id = :id AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity " +
+            "WHERE p.id = :id AND p.stockQuantity IS NOT NULL")
+    int incrementStock(@Param("id") UUID id, @Param("quantity") int quantity);
 }
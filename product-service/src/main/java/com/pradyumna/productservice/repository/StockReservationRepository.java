@@ -0,0 +1,20 @@
+package com.pradyumna.productservice.repository;
+
+import com.pradyumna.productservice.model.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    // Row lock, so a release cannot interleave with a retried reserve for the same key
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.reservationKey = :key")
+    Optional<StockReservation> findForUpdate(@Param("key") String key);
+}
@@ -2,9 +2,13 @@ package com.pradyumna.productservice.service;
 
 import com.pradyumna.productservice.dto.ProductUpdateRequest;
 import com.pradyumna.productservice.exception.DuplicateProductException;
+import com.pradyumna.productservice.exception.InsufficientStockException;
 import com.pradyumna.productservice.exception.ProductNotFoundException;
 import com.pradyumna.productservice.model.Product;
+import com.pradyumna.productservice.model.StockReservation;
+import com.pradyumna.productservice.model.StockReservationStatus;
 import com.pradyumna.productservice.repository.ProductRepository;
+import com.pradyumna.productservice.repository.StockReservationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,11 +23,14 @@ import java.util.UUID;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
 
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Product getProductById(UUID id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
@@ -66,6 +73,72 @@ public class ProductService {
         return productRepository.save(existingProduct);
     }
 
+    /**
+     * Takes quantity units out of stock. Products without stock tracking (null) always succeed.
+     * With a reservationKey the move happens at most once per key: a repeated reserve, or one
+     * arriving after the key was released, changes nothing.
+     */
+    public void reserveStock(UUID id, int quantity, String reservationKey) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (reservationKey != null) {
+            if (reservationRepository.findForUpdate(reservationKey).isPresent()) {
+                return;
+            }
+            // A concurrent first use of the same key fails on the primary key and is retried
+            // by the caller, which then finds this row
+            reservationRepository.saveAndFlush(StockReservation.builder()
+                    .reservationKey(reservationKey)
+                    .productId(id)
+                    .quantity(quantity)
+                    .status(StockReservationStatus.RESERVED)
+                    .build());
+        }
+        if (productRepository.decrementStock(id, quantity) == 1) {
+            return;
+        }
+        // Throwing rolls the reservation row back with the transaction
+        Product product = getProductById(id);
+        if (product.getStockQuantity() != null) {
+            throw new InsufficientStockException("Insufficient stock for product " + id +
+                    ": requested " + quantity + ", available " + product.getStockQuantity());
+        }
+    }
+
+    /**
+     * Puts previously reserved units back (saga compensation). With a reservationKey only a
+     * reservation still held under that key is put back; releasing an unknown key records it
+     * as released, so a reserve delayed past its own compensation is ignored.
+     */
+    public void releaseStock(UUID id, int quantity, String reservationKey) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (reservationKey != null) {
+            StockReservation reservation = reservationRepository.findForUpdate(reservationKey).orElse(null);
+            if (reservation == null) {
+                reservationRepository.save(StockReservation.builder()
+                        .reservationKey(reservationKey)
+                        .productId(id)
+                        .quantity(quantity)
+                        .status(StockReservationStatus.RELEASED)
+                        .build());
+                return;
+            }
+            if (reservation.getStatus() == StockReservationStatus.RELEASED) {
+                return;
+            }
+            reservation.setStatus(StockReservationStatus.RELEASED);
+            // Flushed now: the stock update below clears the persistence context
+            reservationRepository.saveAndFlush(reservation);
+            quantity = reservation.getQuantity();
+        }
+        if (productRepository.incrementStock(id, quantity) == 0 && !productRepository.existsById(id)) {
+            throw new ProductNotFoundException("Product not found with ID: " + id);
+        }
+    }
+
     public void deleteProduct(UUID id) {
         if (!productRepository.existsById(id)) {
             throw new ProductNotFoundException("Product not found with ID: " + id);
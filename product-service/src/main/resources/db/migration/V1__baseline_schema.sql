@@ -0,0 +1,17 @@
+-- Schema as previously created by ddl-auto=update.
+-- Existing databases are baselined at version 1 and skip this script.
+
+CREATE TABLE products (
+    id             BINARY(16)     NOT NULL,
+    name           VARCHAR(255)   NOT NULL,
+    description    TEXT,
+    price          DECIMAL(12, 2) NOT NULL,
+    stock_quantity INTEGER,
+    category       VARCHAR(255)   NOT NULL,
+    sku            VARCHAR(255),
+    image_url      VARCHAR(255),
+    created_at     DATETIME(6)    NOT NULL,
+    updated_at     DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_products_name UNIQUE (name)
+) ENGINE = InnoDB;
@@ -0,0 +1,2 @@
+-- existsBySku duplicate check on product create
+CREATE INDEX idx_products_sku ON products (sku);
@@ -0,0 +1,10 @@
+-- Idempotency keys for saga stock moves (POST /{id}/stock/reserve|release with Idempotency-Key)
+CREATE TABLE stock_reservations (
+    reservation_key VARCHAR(100) NOT NULL,
+    product_id      BINARY(16)   NOT NULL,
+    quantity        INTEGER      NOT NULL,
+    status          ENUM ('RELEASED','RESERVED') NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (reservation_key)
+) ENGINE = InnoDB;
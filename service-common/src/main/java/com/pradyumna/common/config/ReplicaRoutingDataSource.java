@@ -0,0 +1,172 @@
+package com.pradyumna.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for @Transactional(readOnly = true) work to a healthy replica
+ * (round robin) and everything else to the primary.
+ *
+ * A background check reads each replica's replication lag; replicas that are
+ * unreachable, not replicating, or behind by more than maxLagSeconds are skipped
+ * until they recover. With no healthy replica, reads fall back to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the read-only flag is known
+ * before the connection is fetched.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long maxLagSeconds;
+
+    private final AtomicBoolean[] healthy;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService monitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    long maxLagSeconds, long checkIntervalMs) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLagSeconds;
+        // Replicas take reads only after their first successful lag check
+        this.healthy = new AtomicBoolean[this.replicas.size()];
+        for (int i = 0; i < healthy.length; i++) {
+            healthy[i] = new AtomicBoolean();
+        }
+
+        this.monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::checkReplicas, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Passed on to the chosen pool; Hikari rejects per-call credentials, as it would unrouted
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            int index = pickReplica();
+            if (index >= 0) {
+                try {
+                    return opener.open(replicas.get(index));
+                } catch (SQLFeatureNotSupportedException e) {
+                    // The call itself is unsupported; the replica is fine
+                    throw e;
+                } catch (SQLException e) {
+                    markHealthy(index, false, e.getMessage());
+                }
+            }
+        }
+        return opener.open(primary);
+    }
+
+    private int pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (healthy[index].get()) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // ---------------------------------------------------
+    // Lag monitor
+    // ---------------------------------------------------
+    private void checkReplicas() {
+        for (int i = 0; i < replicas.size(); i++) {
+            try (Connection connection = replicas.get(i).getConnection()) {
+                Long lag = replicationLagSeconds(connection);
+                if (lag == null) {
+                    markHealthy(i, false, "replication is not running");
+                } else if (lag > maxLagSeconds) {
+                    markHealthy(i, false, "lag " + lag + "s exceeds " + maxLagSeconds + "s");
+                } else {
+                    markHealthy(i, true, null);
+                }
+            } catch (Exception e) {
+                markHealthy(i, false, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Seconds behind the source, 0 if the server is not configured as a replica,
+     * or null if replication is broken.
+     */
+    private static Long replicationLagSeconds(Connection connection) throws SQLException {
+        try {
+            return readLag(connection, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+        } catch (SQLException e) {
+            // MySQL before 8.0.22
+            return readLag(connection, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+        }
+    }
+
+    private static Long readLag(Connection connection, String sql, String lagColumn) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            long lag = rs.getLong(lagColumn);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
+    private void markHealthy(int index, boolean isHealthy, String reason) {
+        if (!healthy[index].compareAndSet(!isHealthy, isHealthy)) {
+            return;
+        }
+        if (isHealthy) {
+            log.info("✅ Read replica {} is serving reads", index);
+        } else {
+            log.warn("⚠️ Read replica {} taken out of rotation: {}", index, reason);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    // The primary is a bean of its own and closed by the context
+    @Override
+    public void close() throws IOException {
+        monitor.shutdownNow();
+        for (DataSource dataSource : replicas) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
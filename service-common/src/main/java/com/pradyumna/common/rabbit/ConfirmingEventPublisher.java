@@ -0,0 +1,432 @@
+package com.pradyumna.common.rabbit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes events to the order exchange with publisher confirms.
+ *
+ * Sync mode (default) waits for the broker ack of every message and throws if it
+ * is nacked, returned or not confirmed in time. Async mode hands the message to a
+ * bounded in-flight window and a single drain thread that sends queued events in
+ * batches on one channel; confirms are then tracked through the correlation data.
+ *
+ * In async mode an event that is nacked, returned, not confirmed in time or part of a
+ * failed batch is sent again after an exponential backoff, holding its window slot until
+ * it is confirmed. Delivery is at least once: a confirm that arrives after its timeout
+ * still leads to a resend. On shutdown, and for events published after it started, the
+ * remaining events are sent synchronously; only those that fail then are dropped, each
+ * logged and counted as lost.
+ *
+ * Registered by {@link ConfirmingEventPublisherAutoConfiguration} (rabbitmq.publisher.*).
+ */
+@Slf4j
+public class ConfirmingEventPublisher {
+
+    public static final String EVENT_TYPE_HEADER = "x-event-type";
+    public static final String SCHEMA_VERSION_HEADER = "x-schema-version";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final boolean asyncEnabled;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final long retryBackoffMs;
+    private final long maxRetryBackoffMs;
+
+    private final Semaphore window;
+    private final BlockingQueue<PendingEvent> queue = new LinkedBlockingQueue<>();
+    private final DelayQueue<PendingEvent> retries = new DelayQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger awaitingConfirm = new AtomicInteger();
+
+    private final Counter confirmedCounter;
+    private final Counter nackedCounter;
+    private final Counter returnedCounter;
+    private final Counter retriedCounter;
+    private final Counter lostCounter;
+
+    private volatile boolean running = true;
+    // Set once shutdown has flushed the queues; late failures are no longer retried
+    private volatile boolean closed;
+    private Thread drainThread;
+
+    public ConfirmingEventPublisher(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            String exchange,
+            boolean asyncEnabled,
+            int maxInFlight,
+            int batchSize,
+            long confirmTimeoutMs,
+            long retryBackoffMs,
+            long maxRetryBackoffMs
+    ) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.asyncEnabled = asyncEnabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.retryBackoffMs = Math.max(1, retryBackoffMs);
+        this.maxRetryBackoffMs = Math.max(this.retryBackoffMs, maxRetryBackoffMs);
+        this.window = new Semaphore(Math.max(1, maxInFlight));
+
+        Gauge.builder("rabbitmq.publisher.in_flight", inFlight, AtomicInteger::get)
+                .description("Published events not yet confirmed (queued, sent or waiting to be retried)")
+                .register(meterRegistry);
+        Gauge.builder("rabbitmq.publisher.queued", queue, BlockingQueue::size)
+                .description("Events waiting for the async drain thread")
+                .register(meterRegistry);
+        this.confirmedCounter = meterRegistry.counter("rabbitmq.publisher.confirms", "result", "ack");
+        this.nackedCounter = meterRegistry.counter("rabbitmq.publisher.confirms", "result", "nack");
+        this.returnedCounter = meterRegistry.counter("rabbitmq.publisher.confirms", "result", "returned");
+        this.retriedCounter = meterRegistry.counter("rabbitmq.publisher.retries");
+        this.lostCounter = meterRegistry.counter("rabbitmq.publisher.lost");
+        Gauge.builder("rabbitmq.publisher.retrying", retries, DelayQueue::size)
+                .description("Unconfirmed events waiting for their retry")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!asyncEnabled) {
+            return;
+        }
+        drainThread = new Thread(this::drainLoop, "rabbit-publisher-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+        log.info("🐇 Async confirmed publishing enabled | window={} batchSize={}",
+                window.availablePermits(), batchSize);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (drainThread == null) {
+            return;
+        }
+        drainThread.join(confirmTimeoutMs);
+
+        // Confirms for the last batches arrive within the timeout; failed ones join the retries
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        while (awaitingConfirm.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        closed = true;
+
+        // One last synchronous attempt for everything still queued or waiting to be retried
+        List<PendingEvent> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        leftovers.addAll(retries);
+        retries.clear();
+        if (!leftovers.isEmpty()) {
+            log.info("🐇 Flushing {} unconfirmed events before shutdown", leftovers.size());
+        }
+        leftovers.forEach(this::publishNow);
+    }
+
+    public void publish(String routingKey, Object payload, String eventName, int schemaVersion) {
+        MessagePostProcessor headers = headers(eventName, schemaVersion);
+
+        if (asyncEnabled) {
+            enqueue(PendingEvent.first(routingKey, payload, headers, eventName));
+        } else {
+            publishAndWait(routingKey, payload, headers, eventName);
+        }
+    }
+
+    /**
+     * Publishes several events of one type. Sync mode sends them all on one channel and then
+     * waits for their confirms together, throwing if any was not confirmed; async mode queues
+     * each like publish does.
+     */
+    public void publishAll(String routingKey, List<?> payloads, String eventName, int schemaVersion) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        MessagePostProcessor headers = headers(eventName, schemaVersion);
+
+        if (asyncEnabled) {
+            for (Object payload : payloads) {
+                enqueue(PendingEvent.first(routingKey, payload, headers, eventName));
+            }
+        } else {
+            publishAllAndWait(routingKey, payloads, headers, eventName);
+        }
+    }
+
+    private static MessagePostProcessor headers(String eventName, int schemaVersion) {
+        return message -> {
+            message.getMessageProperties().setHeader(EVENT_TYPE_HEADER, eventName);
+            message.getMessageProperties().setHeader(SCHEMA_VERSION_HEADER, schemaVersion);
+            return message;
+        };
+    }
+
+    // ---------------------------------------------------
+    // Sync: one message, block until confirmed
+    // ---------------------------------------------------
+    private void publishAndWait(String routingKey, Object payload, MessagePostProcessor headers, String eventName) {
+        CorrelationData correlation = newCorrelation(eventName);
+        inFlight.incrementAndGet();
+        try {
+            rabbitTemplate.convertAndSend(exchange, routingKey, payload, headers, correlation);
+
+            CorrelationData.Confirm confirm =
+                    correlation.getFuture().get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+
+            if (!confirm.isAck()) {
+                nackedCounter.increment();
+                throw new AmqpException("Broker nacked " + eventName + ": " + confirm.getReason());
+            }
+            if (correlation.getReturned() != null) {
+                returnedCounter.increment();
+                throw new AmqpException("Unroutable " + eventName + " | routingKey=" + routingKey);
+            }
+            confirmedCounter.increment();
+
+        } catch (TimeoutException e) {
+            nackedCounter.increment();
+            throw new AmqpException("No publisher confirm for " + eventName + " within " + confirmTimeoutMs + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted waiting for confirm of " + eventName, e);
+        } catch (ExecutionException e) {
+            nackedCounter.increment();
+            throw new AmqpException("Publish of " + eventName + " failed", e.getCause());
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    // ---------------------------------------------------
+    // Sync bulk: one channel, all confirms awaited together
+    // ---------------------------------------------------
+    private void publishAllAndWait(String routingKey, List<?> payloads, MessagePostProcessor headers,
+                                   String eventName) {
+        List<CorrelationData> correlations = new ArrayList<>(payloads.size());
+        payloads.forEach(payload -> correlations.add(newCorrelation(eventName)));
+        inFlight.addAndGet(payloads.size());
+        int unconfirmed = 0;
+        try {
+            rabbitTemplate.invoke(ops -> {
+                for (int i = 0; i < payloads.size(); i++) {
+                    ops.convertAndSend(exchange, routingKey, payloads.get(i), headers, correlations.get(i));
+                }
+                return null;
+            });
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+            for (CorrelationData correlation : correlations) {
+                try {
+                    CorrelationData.Confirm confirm = correlation.getFuture()
+                            .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (!confirm.isAck()) {
+                        nackedCounter.increment();
+                        unconfirmed++;
+                    } else if (correlation.getReturned() != null) {
+                        returnedCounter.increment();
+                        unconfirmed++;
+                    } else {
+                        confirmedCounter.increment();
+                    }
+                } catch (TimeoutException | ExecutionException e) {
+                    nackedCounter.increment();
+                    unconfirmed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted waiting for confirms of " + eventName, e);
+        } finally {
+            inFlight.addAndGet(-payloads.size());
+        }
+
+        if (unconfirmed > 0) {
+            throw new AmqpException(unconfirmed + " of " + payloads.size() + " " + eventName
+                    + " events not confirmed | routingKey=" + routingKey);
+        }
+    }
+
+    // ---------------------------------------------------
+    // Async: windowed, batched, confirmed via callbacks
+    // ---------------------------------------------------
+    private void enqueue(PendingEvent event) {
+        if (!running) {
+            // Shutting down: the drain thread is gone, so confirm before returning
+            publishAndWait(event.routingKey(), event.payload(), event.headers(), event.eventName());
+            return;
+        }
+        try {
+            if (!window.tryAcquire(confirmTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new AmqpException("Publish window full; " + inFlight.get() + " events awaiting confirm");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted waiting for publish window", e);
+        }
+        inFlight.incrementAndGet();
+        queue.add(event);
+
+        // Raced with the shutdown flush: take it back unless the flush already has it
+        if (closed && queue.remove(event)) {
+            publishNow(event);
+        }
+    }
+
+    // Runs until shutdown; stop() sends whatever is left
+    private void drainLoop() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Due retries first, then new events
+                retries.drainTo(batch, batchSize);
+                if (batch.size() < batchSize) {
+                    PendingEvent next = batch.isEmpty()
+                            ? queue.poll(100, TimeUnit.MILLISECONDS)
+                            : queue.poll();
+                    if (next != null) {
+                        batch.add(next);
+                        queue.drainTo(batch, batchSize - batch.size());
+                    }
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Async publish batch failed | size={}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<PendingEvent> batch) {
+        awaitingConfirm.addAndGet(batch.size());
+        for (PendingEvent event : batch) {
+            event.correlation().getFuture()
+                    .orTimeout(confirmTimeoutMs, TimeUnit.MILLISECONDS)
+                    .whenComplete((confirm, error) -> onConfirm(event, confirm, error));
+        }
+
+        try {
+            // One channel for the whole batch instead of a checkout per message
+            rabbitTemplate.invoke(ops -> {
+                for (PendingEvent event : batch) {
+                    ops.convertAndSend(exchange, event.routingKey(), event.payload(),
+                            event.headers(), event.correlation());
+                }
+                return null;
+            });
+        } catch (AmqpException ex) {
+            log.error("❌ RabbitMQ batch publish failed | size={} cause={}", batch.size(), ex.getMessage());
+            for (PendingEvent event : batch) {
+                event.correlation().getFuture().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void onConfirm(PendingEvent event, CorrelationData.Confirm confirm, Throwable error) {
+        awaitingConfirm.decrementAndGet();
+
+        String cause;
+        if (error != null) {
+            nackedCounter.increment();
+            cause = "not confirmed: " + error;
+        } else if (!confirm.isAck()) {
+            nackedCounter.increment();
+            cause = "nacked: " + confirm.getReason();
+        } else if (event.correlation().getReturned() != null) {
+            returnedCounter.increment();
+            cause = "returned as unroutable";
+        } else {
+            confirmedCounter.increment();
+            settle();
+            return;
+        }
+
+        if (closed) {
+            lost(event, cause);
+            return;
+        }
+        long backoffMs = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(event.attempt() - 1, 16));
+        retriedCounter.increment();
+        log.warn("⚠️ Event {}, retrying in {} ms | type={} routingKey={} attempt={}",
+                cause, backoffMs, event.eventName(), event.routingKey(), event.attempt());
+        retries.add(event.retryAfter(backoffMs));
+    }
+
+    // Shutdown path: one synchronous attempt, the event is lost if that fails too
+    private void publishNow(PendingEvent event) {
+        try {
+            publishAndWait(event.routingKey(), event.payload(), event.headers(), event.eventName());
+            settle();
+        } catch (AmqpException e) {
+            lost(event, e.getMessage());
+        }
+    }
+
+    private void settle() {
+        inFlight.decrementAndGet();
+        window.release();
+    }
+
+    private void lost(PendingEvent event, String cause) {
+        settle();
+        lostCounter.increment();
+        log.error("❌ Event lost | type={} routingKey={} attempts={} cause={}",
+                event.eventName(), event.routingKey(), event.attempt(), cause);
+    }
+
+    private static CorrelationData newCorrelation(String eventName) {
+        return new CorrelationData(eventName + ":" + UUID.randomUUID());
+    }
+
+    private record PendingEvent(String routingKey,
+                                Object payload,
+                                MessagePostProcessor headers,
+                                String eventName,
+                                CorrelationData correlation,
+                                int attempt,
+                                long dueAtNanos) implements Delayed {
+
+        static PendingEvent first(String routingKey, Object payload, MessagePostProcessor headers, String eventName) {
+            return new PendingEvent(routingKey, payload, headers, eventName, newCorrelation(eventName), 1,
+                    System.nanoTime());
+        }
+
+        // A fresh correlation: the previous one is already completed
+        PendingEvent retryAfter(long backoffMs) {
+            return new PendingEvent(routingKey, payload, headers, eventName, newCorrelation(eventName),
+                    attempt + 1, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs));
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
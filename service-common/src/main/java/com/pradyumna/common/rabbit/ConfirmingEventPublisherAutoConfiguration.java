@@ -0,0 +1,39 @@
+package com.pradyumna.common.rabbit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * {@link ConfirmingEventPublisher} for services that publish to the order events exchange
+ * (rabbitmq.exchanges.order-events, rabbitmq.publisher.*). Needs publisher confirms and
+ * returns turned on in spring.rabbitmq.*.
+ */
+@AutoConfiguration(after = RabbitAutoConfiguration.class)
+@ConditionalOnClass({RabbitTemplate.class, MeterRegistry.class})
+@ConditionalOnBean(RabbitTemplate.class)
+public class ConfirmingEventPublisherAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ConfirmingEventPublisher confirmingEventPublisher(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${rabbitmq.exchanges.order-events:order.events.exchange}") String exchange,
+            @Value("${rabbitmq.publisher.async-enabled:false}") boolean asyncEnabled,
+            @Value("${rabbitmq.publisher.max-in-flight:256}") int maxInFlight,
+            @Value("${rabbitmq.publisher.batch-size:50}") int batchSize,
+            @Value("${rabbitmq.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+            @Value("${rabbitmq.publisher.retry-backoff-ms:500}") long retryBackoffMs,
+            @Value("${rabbitmq.publisher.max-retry-backoff-ms:30000}") long maxRetryBackoffMs
+    ) {
+        return new ConfirmingEventPublisher(rabbitTemplate, meterRegistry, exchange, asyncEnabled,
+                maxInFlight, batchSize, confirmTimeoutMs, retryBackoffMs, maxRetryBackoffMs);
+    }
+}
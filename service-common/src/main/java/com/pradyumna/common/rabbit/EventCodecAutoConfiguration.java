@@ -0,0 +1,27 @@
+package com.pradyumna.common.rabbit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * {@link EventCodec} for services that publish or consume RabbitMQ events
+ * (rabbitmq.events.encoding=json|cbor).
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@ConditionalOnClass({Message.class, CBORFactory.class})
+public class EventCodecAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EventCodec eventCodec(ObjectMapper objectMapper,
+                                 @Value("${rabbitmq.events.encoding:json}") String encoding) {
+        return new EventCodec(objectMapper, encoding);
+    }
+}
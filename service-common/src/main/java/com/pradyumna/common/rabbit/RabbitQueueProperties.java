@@ -0,0 +1,50 @@
+package com.pradyumna.common.rabbit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-queue declaration and listener tuning, keyed like rabbitmq.queues.* e.g.
+ * rabbitmq.queue-settings.payment-status.type=quorum
+ *
+ * Unset values keep the previous behaviour (durable classic queue, Boot listener defaults).
+ * Every service that declares a queue must use the same type / max-length / overflow,
+ * otherwise RabbitMQ rejects the second declaration.
+ * Bound by each service's RabbitConfig (@EnableConfigurationProperties).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rabbitmq")
+public class RabbitQueueProperties {
+
+    private Map<String, QueueSettings> queueSettings = new HashMap<>();
+
+    public QueueSettings forQueue(String key) {
+        return queueSettings.getOrDefault(key, new QueueSettings());
+    }
+
+    public enum QueueType {
+        CLASSIC,
+        QUORUM,
+        LAZY
+    }
+
+    @Getter
+    @Setter
+    public static class QueueSettings {
+        private QueueType type = QueueType.CLASSIC;
+
+        // Broker-side limits
+        private Integer maxLength;
+        private String overflow;        // drop-head | reject-publish
+
+        // Listener container tuning
+        private Integer concurrency;
+        private Integer maxConcurrency;
+        private Integer prefetch;
+    }
+}
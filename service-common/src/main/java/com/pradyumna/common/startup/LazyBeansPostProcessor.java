@@ -0,0 +1,66 @@
+package com.pradyumna.common.startup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Marks beans whose class name starts with one of startup.lazy-beans as lazy, so
+ * non-critical infrastructure (OpenAPI docs) is built on first use instead of at startup.
+ *
+ * Unlike spring.main.lazy-initialization this leaves the rest eager, so wiring errors in
+ * the request path still fail the boot. A lazy bean injected into an eager one is created
+ * anyway; listed packages should only be reachable through their own endpoints.
+ *
+ * Under Spring AOT (-Pfast-startup) it does nothing while the build runs, so the lazy flags
+ * are not frozen into the generated bean definitions from the build's configuration; the
+ * profile the app starts with decides, as it does without AOT.
+ */
+public class LazyBeansPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    // Set by Spring's AOT processor for the duration of the build-time refresh
+    private static final String AOT_PROCESSING = "spring.aot.processing";
+
+    private List<String> prefixes = List.of();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        prefixes = Binder.get(environment)
+                .bind("startup.lazy-beans", Bindable.listOf(String.class))
+                .orElse(List.of());
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (prefixes.isEmpty() || Boolean.getBoolean(AOT_PROCESSING)) {
+            return;
+        }
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE
+                    && matches(className(beanFactory, definition))) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    // @Bean methods carry no class name of their own; use the declaring configuration's
+    private static String className(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBean = definition.getFactoryBeanName();
+        if (definition.getBeanClassName() == null && factoryBean != null
+                && beanFactory.containsBeanDefinition(factoryBean)) {
+            return beanFactory.getBeanDefinition(factoryBean).getBeanClassName();
+        }
+        return definition.getBeanClassName();
+    }
+
+    private boolean matches(String className) {
+        return className != null && prefixes.stream().anyMatch(className::startsWith);
+    }
+}
@@ -0,0 +1,36 @@
+package com.pradyumna.common.startup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup tuning shared by the services: startup.lazy-beans and the
+ * /actuator/startupsteps report (startup.report.log-top).
+ */
+@AutoConfiguration
+public class StartupAutoConfiguration {
+
+    // Static: a BeanFactoryPostProcessor must not wait for its configuration class
+    @Bean
+    public static LazyBeansPostProcessor lazyBeansPostProcessor() {
+        return new LazyBeansPostProcessor();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    static class StartupStepsConfiguration {
+
+        @Bean
+        @ConditionalOnAvailableEndpoint
+        public StartupStepsEndpoint startupStepsEndpoint(ConfigurableApplicationContext context,
+                                                         @Value("${startup.report.log-top:10}") int logTop) {
+            return new StartupStepsEndpoint(context, logTop);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.pradyumna.common.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+
+/**
+ * Ranked view of the startup steps recorded by the BufferingApplicationStartup set in main.
+ *
+ * GET /actuator/startupsteps?limit=N lists the slowest steps by self time (duration minus
+ * nested steps), so a bean is not charged for the dependencies it pulled in. The raw
+ * timeline stays at /actuator/startup; a POST there drains the buffer and empties this report.
+ * The top entries are also logged once the application is ready.
+ *
+ * Both endpoints expose bean names and the POST empties the buffer, so each service's
+ * SecurityConfig limits them to service tokens.
+ */
+@Slf4j
+@Endpoint(id = "startupsteps")
+public class StartupStepsEndpoint {
+
+    private final ConfigurableApplicationContext context;
+    private final int logTop;
+
+    public StartupStepsEndpoint(ConfigurableApplicationContext context, int logTop) {
+        this.context = context;
+        this.logTop = logTop;
+    }
+
+    @ReadOperation
+    public List<StepTiming> steps(@Nullable Integer limit) {
+        List<StepTiming> ranked = rank();
+        return limit == null ? ranked : ranked.subList(0, Math.min(Math.max(limit, 0), ranked.size()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logSlowestSteps() {
+        if (logTop <= 0) {
+            return;
+        }
+        List<StepTiming> top = steps(logTop);
+        if (top.isEmpty()) {
+            return;
+        }
+        log.info("⏱️ Slowest startup steps (self time):");
+        top.forEach(step -> log.info("⏱️   {} ms  {}{}", step.selfMs(), step.step(),
+                step.bean() != null ? " [" + step.bean() + "]" : ""));
+    }
+
+    private List<StepTiming> rank() {
+        if (!(context.getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return List.of();
+        }
+        List<StartupTimeline.TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+
+        Map<Long, Long> nestedNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                nestedNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        List<StepTiming> ranked = new ArrayList<>(events.size());
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            long totalNanos = event.getDuration().toNanos();
+            long selfNanos = Math.max(0, totalNanos - nestedNanos.getOrDefault(step.getId(), 0L));
+            ranked.add(new StepTiming(step.getName(), beanName(step), toMillis(totalNanos), toMillis(selfNanos)));
+        }
+        ranked.sort(Comparator.comparingDouble(StepTiming::selfMs).reversed());
+        return ranked;
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    public record StepTiming(String step, String bean, double totalMs, double selfMs) {}
+}
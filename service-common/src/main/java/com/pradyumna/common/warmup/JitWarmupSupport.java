@@ -0,0 +1,93 @@
+package com.pradyumna.common.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a service's hot request paths before the pod takes traffic, so the first users do
+ * not pay for interpreted code. Subclasses list their stages in {@link #runStages(Stages)}.
+ *
+ * Boot marks readiness ACCEPTING_TRAFFIC only after ApplicationReadyEvent listeners return,
+ * so /actuator/health/readiness stays DOWN while this runs. warmup.max-duration-ms bounds the
+ * delay (checked between rounds); a failing stage is logged and skipped rather than keeping
+ * the pod unready.
+ */
+@Slf4j
+public abstract class JitWarmupSupport {
+
+    protected final WarmupProperties properties;
+
+    protected JitWarmupSupport(WarmupProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Stages stages = new Stages(start + properties.getMaxDurationMs());
+        runStages(stages);
+
+        log.info("🔥 JIT warm-up done in {} ms | {}", System.currentTimeMillis() - start, stages.summary());
+    }
+
+    protected abstract void runStages(Stages stages);
+
+    /**
+     * Runs warm-up stages against a shared deadline and keeps the rounds each one completed.
+     */
+    protected static final class Stages {
+
+        private final long deadline;
+        private final Map<String, Integer> completed = new LinkedHashMap<>();
+
+        private Stages(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Returns the number of rounds completed before the deadline or the first failure.
+         */
+        public int run(String stage, int rounds, WarmupRound round) {
+            int done = runRounds(stage, rounds, round);
+            completed.put(stage, done);
+            return done;
+        }
+
+        private int runRounds(String stage, int rounds, WarmupRound round) {
+            long stageStart = System.currentTimeMillis();
+            for (int i = 0; i < rounds; i++) {
+                if (System.currentTimeMillis() > deadline) {
+                    log.warn("⚠️ JIT warm-up out of time in stage {} after {} rounds", stage, i);
+                    return i;
+                }
+                try {
+                    round.run();
+                } catch (Exception e) {
+                    log.warn("⚠️ JIT warm-up stage {} failed after {} rounds: {}", stage, i, e.getMessage());
+                    return i;
+                }
+            }
+            log.debug("JIT warm-up stage {}: {} rounds in {} ms", stage, rounds, System.currentTimeMillis() - stageStart);
+            return rounds;
+        }
+
+        private String summary() {
+            return completed.entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(Collectors.joining(" "));
+        }
+    }
+
+    @FunctionalInterface
+    protected interface WarmupRound {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,12 @@
+package com.pradyumna.common.warmup;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * Binds warmup.* for the services' {@link JitWarmupSupport} subclasses.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupAutoConfiguration {
+}
@@ -0,0 +1,24 @@
+package com.pradyumna.common.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * warmup.* settings read by {@link JitWarmupSupport}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    // Rounds per stage
+    private int iterations = 10000;
+    private int jwtIterations = 2000;
+    private int dbIterations = 100;
+
+    // Upper bound on the readiness delay, checked between rounds
+    private long maxDurationMs = 30000;
+}
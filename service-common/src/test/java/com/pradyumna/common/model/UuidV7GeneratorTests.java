@@ -0,0 +1,71 @@
+package com.pradyumna.common.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTests {
+
+    @Test
+    void setsVersionAndVariant() {
+        UUID id = UuidV7Generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void carriesCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        // The sequence may borrow from the next millisecond under load
+        assertTrue(millis >= before && millis <= after + 1, "timestamp " + millis);
+    }
+
+    @Test
+    void idsIncreaseInBinaryOrder() {
+        List<UUID> ids = new ArrayList<>();
+        // More than the 4096 ids a single millisecond's sequence can hold
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            // MySQL compares BINARY(16) bytewise = unsigned msb; msb alone is strictly increasing
+            assertTrue(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(),
+                    ids.get(i).getMostSignificantBits()) < 0, "id " + i + " not after id " + (i - 1));
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    @Test
+    void idsStayUniqueAcrossThreads() throws InterruptedException {
+        int threads = 4;
+        int perThread = 5_000;
+        List<UUID> ids = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(UuidV7Generator.next());
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread, new HashSet<>(ids).size());
+    }
+}
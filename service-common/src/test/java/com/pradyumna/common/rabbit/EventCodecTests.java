@@ -0,0 +1,73 @@
+package com.pradyumna.common.rabbit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCodecTests {
+
+    record SampleEvent(UUID id, Long userId, BigDecimal totalAmount, String status) {}
+
+    private static final SampleEvent EVENT =
+            new SampleEvent(UUID.randomUUID(), 42L, new BigDecimal("59.97"), "PENDING");
+
+    private final EventCodec jsonCodec = new EventCodec(new ObjectMapper(), "json");
+    private final EventCodec cborCodec = new EventCodec(new ObjectMapper(), "cbor");
+
+    @Test
+    void jsonRoundTrip() throws Exception {
+        Message message = jsonCodec.encode(EVENT);
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+        assertEquals(StandardCharsets.UTF_8.name(), message.getMessageProperties().getContentEncoding());
+        assertEquals(EVENT, jsonCodec.decode(message, SampleEvent.class));
+    }
+
+    @Test
+    void cborRoundTrip() throws Exception {
+        Message message = cborCodec.encode(EVENT);
+
+        assertEquals(EventCodec.CBOR_CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertEquals(EVENT, cborCodec.decode(message, SampleEvent.class));
+    }
+
+    @Test
+    void decodesByContentTypeWhateverTheOwnEncoding() throws Exception {
+        // Mixed JSON and CBOR producers during a rollout
+        assertEquals(EVENT, cborCodec.decode(jsonCodec.encode(EVENT), SampleEvent.class));
+        assertEquals(EVENT, jsonCodec.decode(cborCodec.encode(EVENT), SampleEvent.class));
+    }
+
+    @Test
+    void readsLegacyPlainTextBodiesAsJson() throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(EVENT);
+        Message message = MessageBuilder.withBody(body)
+                .setContentType(MessageProperties.CONTENT_TYPE_TEXT_PLAIN)
+                .build();
+
+        assertEquals(EVENT, cborCodec.decode(message, SampleEvent.class));
+    }
+
+    @Test
+    void cborBodyIsSmallerThanJson() throws Exception {
+        int json = jsonCodec.encode(EVENT).getBody().length;
+        int cbor = cborCodec.encode(EVENT).getBody().length;
+
+        assertTrue(cbor < json, "cbor=" + cbor + " json=" + json);
+    }
+
+    @Test
+    void encodingSettingIsCaseInsensitive() throws Exception {
+        EventCodec codec = new EventCodec(new ObjectMapper(), "CBOR");
+
+        assertEquals(EventCodec.CBOR_CONTENT_TYPE, codec.encode(EVENT).getMessageProperties().getContentType());
+    }
+}
@@ -0,0 +1,57 @@
+package com.pradyumna.userservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradyumna.common.warmup.JitWarmupSupport;
+import com.pradyumna.common.warmup.WarmupProperties;
+import com.pradyumna.userservice.model.User;
+import com.pradyumna.userservice.repository.UserRepository;
+import com.pradyumna.userservice.security.JwtUtil;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms up the hot request paths (JWT issue and check, User JSON, repository reads)
+ * before readiness goes UP; see {@link JitWarmupSupport}.
+ *
+ * BCrypt is left out on purpose: it is slow by design and gains nothing from the JIT.
+ */
+@Component
+public class JitWarmup extends JitWarmupSupport {
+
+    private static final String WARMUP_USER = "warmup";
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+
+    public JitWarmup(
+            WarmupProperties properties,
+            JwtUtil jwtUtil,
+            ObjectMapper objectMapper,
+            UserRepository userRepository
+    ) {
+        super(properties);
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    protected void runStages(Stages stages) {
+        User user = new User();
+        user.setId(-1L);
+        user.setUsername(WARMUP_USER);
+        user.setEmail("warmup@example.invalid");
+        user.setFullName("Warm-up User");
+        user.setPhone("0000000000");
+
+        stages.run("jwt", properties.getJwtIterations(), () -> {
+            String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole());
+            jwtUtil.isTokenValid(token, jwtUtil.extractUsername(token));
+        });
+        stages.run("json", properties.getIterations(), () -> objectMapper.writeValueAsBytes(user));
+        stages.run("db", properties.getDbIterations(), () -> {
+            userRepository.findByUsername(WARMUP_USER + "-" + System.nanoTime());
+            userRepository.findByEmail(user.getEmail());
+        });
+    }
+}